@@ -45,8 +45,9 @@ echo Creating manifest...
 echo Main-Class: gui.app.GUIGame > manifest.txt
 
 REM ==== BUILD JAR ====
+REM card images live in the top-level resources folder (/Cards, /Backs on the classpath)
 echo Creating hwx.jar...
-jar cfm hwx.jar manifest.txt -C bin .
+jar cfm hwx.jar manifest.txt -C bin . -C resources .
 
 echo ========================================
 echo   JAR BUILD COMPLETE: hwx.jar
@@ -1,28 +1,54 @@
 package cards;
 /**
- * Represents a playing card with suit, value, and face-up status.
+ * Represents a playing card with suit and value.
+ *
+ * Cards are immutable flyweights: there are exactly 52 instances, obtained with Card.of(...),
+ * so they can be shared freely between tables and threads and compared with ==.
+ * getIndex() (SUIT.ordinal() * 13 + VALUE.ordinal()) can key arrays and caches.
+ * Whether a card is shown face up is decided per seat by the table/state layer, not here.
  */
-public class Card{
+public final class Card{
+    private static final Card[] CARDS = new Card[52];
+
+    static{
+        for(SUIT s : SUIT.values()){
+            for(VALUE v : VALUE.values()){
+                Card c = new Card(s, v, s.ordinal() * 13 + v.ordinal());
+                CARDS[c.index] = c;
+            }
+        }
+    }
+
     private final SUIT suit;
     private final VALUE val;
-    private boolean isFaceUp = false;
+    private final int index;
 
-    public Card(SUIT s, VALUE v){
+    private Card(SUIT s, VALUE v, int index){
         this.suit = s;
         this.val = v;
+        this.index = index;
+    }
+
+    /**
+     * The canonical instance for a suit and value
+     */
+    public static Card of(SUIT s, VALUE v){
+        return CARDS[s.ordinal() * 13 + v.ordinal()];
+    }
+
+    /**
+     * The canonical instance for an index (0..51)
+     */
+    public static Card of(int index){
+        return CARDS[index];
     }
 
     public VALUE getValue(){ return this.val; }
 
     public SUIT getSuit(){ return this.suit; }
 
-    public boolean isFaceUp(){ return this.isFaceUp; }
-    
-    public boolean flip(){
-        this.isFaceUp = !this.isFaceUp;
-        return this.isFaceUp;
-    }
+    public int getIndex(){ return this.index; }
 
     @Override
     public String toString(){ return this.val + " of " + this.suit; }
-}
\ No newline at end of file
+}
@@ -1,37 +1,115 @@
 package cards;
 
-import java.util.*;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 /**
  * Represents a standard deck of 52 playing cards
+ *
+ * The deal order is a byte[52] of card indexes (Card.getIndex()) into the shared Card instances.
+ * Shuffling is an in-place Fisher-Yates that is done lazily: each deal() swaps a random
+ * undealt card into place, so only as many cards as are actually dealt get shuffled.
+ * shuffle(count) does the same work up front. Dealing never allocates.
+ *
+ * The random generator is pluggable; a seeded or split generator gives every
+ * simulation worker its own deterministic stream.
  */
 public class Deck{
-    private final List<Card> cards;
-    private int index;
+    private static final int SIZE = 52;
+
+    private final byte[] order = new byte[SIZE];
+    private final RandomGenerator rng;
+    private int index;      // next position to deal
+    private int shuffled;   // positions [0, shuffled) already randomized
 
     public Deck(){
-        index = 0;
-        cards = new ArrayList<>();
-        //initialize deck of 52 cards 
-        for(SUIT s : SUIT.values()){
-            for(VALUE v : VALUE.values()){
-                cards.add(new Card(s, v));
-            }
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Deck with a reproducible deal sequence
+     */
+    public Deck(long seed){
+        this(new SplittableRandom(seed));
+    }
+
+    public Deck(RandomGenerator rng){
+        this.rng = rng;
+        //initialize deck of 52 cards
+        for(int code = 0; code < SIZE; code++){
+            order[code] = (byte)code;
         }
-        Collections.shuffle(cards);
+        reset();
     }
+
+    /**
+     * New deck with an independent random stream split from this deck's generator,
+     * e.g. one per simulation worker. Falls back to a fresh generator if this one can't split.
+     */
+    public Deck split(){
+        if(rng instanceof RandomGenerator.SplittableGenerator){
+            return new Deck(((RandomGenerator.SplittableGenerator) rng).split());
+        }
+        return new Deck(new SplittableRandom(rng.nextLong()));
+    }
+
+    /**
+     * Shuffles the whole undealt part of the deck
+     */
     public void shuffle(){
-        Collections.shuffle(cards);
+        shuffle(SIZE - index);
     }
 
+    /**
+     * Randomizes only the next count cards to be dealt
+     */
+    public void shuffle(int count){
+        shuffled = index;
+        int end = Math.min(SIZE, index + count);
+        while(shuffled < end){
+            swapRandomInto(shuffled++);
+        }
+    }
+
+    /**
+     * Collects all cards back for a new hand; cards are shuffled as they are dealt
+     */
     public void reset(){
         index = 0;
-        Collections.shuffle(cards);
+        shuffled = 0;
+    }
+
+    /**
+     * Number of cards left to deal
+     */
+    public int remaining(){
+        return SIZE - index;
     }
 
     public Card deal(){
-        if(index >= cards.size()){
+        return Card.of(dealCode());
+    }
+
+    /**
+     * Deals the next card as its code, for callers that work on card codes or masks
+     */
+    public int dealCode(){
+        if(index >= SIZE){
             throw new IllegalStateException("Deck out of cards!");
         }
-        return cards.get(index++);
+        if(index >= shuffled){
+            swapRandomInto(index);
+            shuffled = index + 1;
+        }
+        return order[index++];
+    }
+
+    /**
+     * One Fisher-Yates step: moves a random undealt card to position i
+     */
+    private void swapRandomInto(int i){
+        int j = i + rng.nextInt(SIZE - i);
+        byte tmp = order[i];
+        order[i] = order[j];
+        order[j] = tmp;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package game;
+
+/**
+ * Actions a player (or the GUI between hands) can send to the GameEngine
+ */
+public enum ACTION {
+    FOLD,
+    CHECK,
+    CALL,
+    RAISE,
+    ALL_IN,
+    NEXT_HAND
+}
@@ -0,0 +1,44 @@
+package game;
+
+/**
+ * A player's choice: an ACTION plus, for RAISE, the amount raised on top of the call.
+ * Immutable; the amount-free decisions are shared constants.
+ */
+public final class Decision{
+    public static final Decision FOLD = new Decision(ACTION.FOLD, 0);
+    public static final Decision CHECK = new Decision(ACTION.CHECK, 0);
+    public static final Decision CALL = new Decision(ACTION.CALL, 0);
+    public static final Decision ALL_IN = new Decision(ACTION.ALL_IN, 0);
+    public static final Decision NEXT_HAND = new Decision(ACTION.NEXT_HAND, 0);
+
+    private final ACTION action;
+    private final int amount;
+
+    private Decision(ACTION action, int amount){
+        this.action = action;
+        this.amount = amount;
+    }
+
+    /**
+     * Raise by the given amount beyond calling the current bet
+     */
+    public static Decision raise(int amount){
+        return new Decision(ACTION.RAISE, amount);
+    }
+
+    public ACTION getAction(){
+        return action;
+    }
+
+    /**
+     * Raise amount on top of the call; 0 for every other action
+     */
+    public int getAmount(){
+        return amount;
+    }
+
+    @Override
+    public String toString(){
+        return action == ACTION.RAISE ? "RAISE:" + amount : action.name();
+    }
+}
@@ -3,6 +3,7 @@ package game;
 import cards.Card;
 import cards.Deck;
 import gui.integration.GameListener;
+import gui.integration.GameObserver;
 import gui.integration.GameState;
 import gui.integration.PlayerState;
 import java.util.*;
@@ -11,11 +12,13 @@ import players.Player;
 /**
  * This version is GUI driven
  * -no scanner input
- * -uses GameListener to notify GUI of state changes and request player actions
+ * -uses GameListener to request player actions, and GameObserver deltas (bet, card, pot, turn)
+ *  to tell the GUI and any other observers what changed; snapshot() builds a full GameState on demand
  * 
  * Currently supports:
  * -4 player pass and play
- * -FOLD, CHECK, CALL, ALL_IN, RAISE, NEXT_HAND actions
+ * -FOLD, CHECK, CALL, ALL_IN, RAISE, NEXT_HAND actions (typed Decision, see LegalActions)
+ * -blocking play (startGameLoop, runHeadless) or step-driven play (startHand, currentState, apply)
  */
 public class GameEngine{
     private final Table table;
@@ -23,6 +26,33 @@ public class GameEngine{
     private final CheckHand handChecker;
     //connect engine to GUI
     private GameListener listener;
+    //everyone told about changes, the listener included; copied on add/remove
+    private GameObserver[] observers = new GameObserver[0];
+    //seat shown as acting (-1 if none), kept for snapshot()
+    private int turnSeat = -1;
+    //programmatic seat decisions; when set, used instead of the listener
+    private PlayerDecider decider;
+    //console logging of every action (off for headless simulation)
+    private boolean verbose = true;
+    //legal actions for the player to act, reused for every decision
+    private final LegalActions legal = new LegalActions();
+    //betting-round state, kept in fields so a round can be resumed one decision at a time
+    private int startIndex;
+    private int preFlopStartIndex; // first to act pre-flop: left of the big blind, the button heads-up
+    //seats posting the blinds this hand, -1 if none (fewer than two players dealt in)
+    private int smallBlindIndex = -1;
+    private int bigBlindIndex = -1;
+    private int currentPlayerIndex;
+    private int lastRaiserIndex;
+    private int lastRaiseSize; // size of the last raise; the next one must be at least this (and a big blind)
+    private boolean firstLoop;
+    private boolean roundComplete;
+    //street of the current hand, and the snapshot returned by currentState()
+    private PHASE phase = PHASE.WAITING;
+    private final TurnState turnState = new TurnState(legal);
+    //hand history hook (binary log, export), optional
+    private HandRecorder recorder;
+    private long handNumber = 0;
     //index of button in table.getPlayers()
     private int dealerIndex = 0; // Tracks dealer position
     private int startingChips = 1000; // Default starting chips
@@ -33,8 +63,14 @@ public class GameEngine{
     //private String lastWinnerMessage = "";
 
     public GameEngine(){
+        this(new Deck());
+    }
+    /**
+     * Engine dealing from the given deck, e.g. a seeded Deck for reproducible simulations
+     */
+    public GameEngine(Deck deck){
         this.table = new Table();
-        this.deck = new Deck();
+        this.deck = deck;
         this.handChecker = new CheckHand();        
     }
     /**
@@ -66,7 +102,42 @@ public class GameEngine{
         return table;
     }
     public void setListener(GameListener listener){
+        if(this.listener != null) removeObserver(this.listener);
         this.listener = listener;
+        if(listener != null) addObserver(listener);
+    }
+
+    /**
+     * Adds an observer of game changes; one engine can feed several views
+     */
+    public void addObserver(GameObserver observer){
+        GameObserver[] grown = Arrays.copyOf(observers, observers.length + 1);
+        grown[observers.length] = observer;
+        observers = grown;
+    }
+
+    public void removeObserver(GameObserver observer){
+        for(int i = 0; i < observers.length; i++){
+            if(observers[i] == observer){
+                GameObserver[] shrunk = new GameObserver[observers.length - 1];
+                System.arraycopy(observers, 0, shrunk, 0, i);
+                System.arraycopy(observers, i + 1, shrunk, i, shrunk.length - i);
+                observers = shrunk;
+                return;
+            }
+        }
+    }
+
+    public void setDecider(PlayerDecider decider){
+        this.decider = decider;
+    }
+
+    public void setVerbose(boolean verbose){
+        this.verbose = verbose;
+    }
+
+    public void setRecorder(HandRecorder recorder){
+        this.recorder = recorder;
     }
     
     public void setStartingChips(int chips){
@@ -95,8 +166,6 @@ public class GameEngine{
     public void startPassAndPlayHand(){
         ensurePlayers();
 
-        table.setWinnerText("");//reset previous winner message
-        
         resetPlayersForNewHand();
         assignPositions();
         postBlinds();
@@ -125,32 +194,65 @@ public class GameEngine{
         deck.reset();
     }
     /*
-    * Resets hand flags on players: folded, all-in, current bet, hand cards
+    * Resets hand flags on players: folded, all-in, current bet, hand cards, and the last winner text
      */
     private void resetPlayersForNewHand(){
+        table.setWinnerText("");
         for(Player p : table.getPlayers()){
             p.resetForNewHand();
         }
         table.resetForNewHand();
+        // players with no chips left sit the hand out
+        for(Player p : table.getPlayers()){
+            if(p.getChips() == 0){
+                p.fold();
+            }
+        }
     }
     /**
-    * Assign positions to players based on dealer button
+    * Assign positions to players based on dealer button.
+    * Button and blinds go to the next seats still in the hand; busted seats are passed over.
+    * Heads-up the button posts the small blind and acts first pre-flop, last after the flop.
     */
     private void assignPositions(){
         List<Player> players = table.getPlayers();
-        int numPlayers = players.size();
-
-        for(int i = 0; i < numPlayers; i++){
-            if(i == dealerIndex){
-                players.get(i).setPosition(POSITIONS.BUTTON);
-            } else if(i == (dealerIndex + 1) % numPlayers){
-                players.get(i).setPosition(POSITIONS.SMALL_BLIND);
-            } else if(i == (dealerIndex + 2) % numPlayers){
-                players.get(i).setPosition(POSITIONS.BIG_BLIND);
-            } else {
-                players.get(i).setPosition(POSITIONS.UNDER_THE_GUN);
+        dealerIndex = nextInHand(dealerIndex);
+        int dealtIn = table.getPlayersInHand();
+        if(dealtIn < 2){
+            smallBlindIndex = -1;
+            bigBlindIndex = -1;
+            preFlopStartIndex = dealerIndex;
+        } else if(dealtIn == 2){
+            smallBlindIndex = dealerIndex;
+            bigBlindIndex = nextInHand(dealerIndex + 1);
+            preFlopStartIndex = dealerIndex;
+        } else {
+            smallBlindIndex = nextInHand(dealerIndex + 1);
+            bigBlindIndex = nextInHand(smallBlindIndex + 1);
+            preFlopStartIndex = nextInHand(bigBlindIndex + 1);
+        }
+
+        // positions are labels only; the blinds are posted from the seat indexes above
+        for(Player p : players){
+            p.setPosition(POSITIONS.UNDER_THE_GUN);
+        }
+        if(bigBlindIndex >= 0) players.get(bigBlindIndex).setPosition(POSITIONS.BIG_BLIND);
+        if(smallBlindIndex >= 0) players.get(smallBlindIndex).setPosition(POSITIONS.SMALL_BLIND);
+        players.get(dealerIndex).setPosition(POSITIONS.BUTTON);
+    }
+
+    /**
+     * First seat from the given one (wrapping) whose player has not folded, i.e. is dealt in
+     */
+    private int nextInHand(int seat){
+        List<Player> players = table.getPlayers();
+        for(int i = 0; i < players.size(); i++){
+            int s = (seat + i) % players.size();
+            if(!players.get(s).isFolded()){
+                return s;
             }
         }
+        return seat % players.size();
     }
 
     /**
@@ -158,127 +260,104 @@ public class GameEngine{
      */
     private void postBlinds(){
         List<Player> players = table.getPlayers();
-        
-        for(Player p : players){
-            if(p.getPosition() == POSITIONS.SMALL_BLIND){
-                int sbAmount = p.placeBet(table.getSmallBlind());
-                table.addToPot(sbAmount);
-                System.out.println(p.getName() + " posts small blind: $" + sbAmount);
-            } else if(p.getPosition() == POSITIONS.BIG_BLIND){
-                int bbAmount = p.placeBet(table.getBigBlind());
-                table.addToPot(bbAmount);
-                table.setCurrentBet(table.getBigBlind());
-                System.out.println(p.getName() + " posts big blind: $" + bbAmount);
-            }
+        phase = PHASE.PRE_FLOP; // the hand starts with the blinds; observers see it as pre-flop
+        handNumber++;
+        if(recorder != null) recorder.startHand(handNumber, table, dealerIndex);
+        turnSeat = -1;
+        for(GameObserver o : observers) o.onHandStarted(dealerIndex);
+
+        if(smallBlindIndex >= 0){
+            Player p = players.get(smallBlindIndex);
+            int sbAmount = p.placeBet(table.getSmallBlind());
+            table.addToPot(sbAmount);
+            if(verbose) System.out.println(p.getName() + " posts small blind: $" + sbAmount);
+            if(recorder != null) recorder.blind(smallBlindIndex, sbAmount, false);
+            notifyBet(smallBlindIndex, sbAmount, p);
+        }
+        if(bigBlindIndex >= 0){
+            Player p = players.get(bigBlindIndex);
+            int bbAmount = p.placeBet(table.getBigBlind());
+            table.addToPot(bbAmount);
+            table.setCurrentBet(table.getBigBlind());
+            if(verbose) System.out.println(p.getName() + " posts big blind: $" + bbAmount);
+            if(recorder != null) recorder.blind(bigBlindIndex, bbAmount, true);
+            notifyBet(bigBlindIndex, bbAmount, p);
         }
-        notifyState(null);
     }
 
     //start of game -- deal two cards to each player
     public void preFlop(){
-        //deal one card to each player, twice
+        //deal one card to each player in the hand, twice; busted seats get none
         for(int i = 0; i < 2; i++){
             for(Player p : table.getPlayers()){
-                p.giveCard(deck.deal());
+                if(!p.isFolded()) p.giveCard(deck.deal());
             }
         }
-        notifyState(null);
+        List<Player> players = table.getPlayers();
+        for(int i = 0; i < players.size(); i++){
+            if(players.get(i).isFolded()) continue;
+            List<Card> hand = players.get(i).getHand();
+            if(recorder != null) recorder.holeCards(i, hand.get(0), hand.get(1));
+            for(GameObserver o : observers) o.onHoleCards(i, hand.get(0), hand.get(1));
+        }
     }
 
     //deal 3 community cards
     public void flop(){
+        phase = PHASE.FLOP;
         deck.deal();//burn card
         for(int i = 0; i < 3; i++){//deal three community cards
-            Card c = deck.deal();
-            c.flip();//face up
-            table.addCommunityCard(c);
+            table.addCommunityCard(deck.deal());//board cards are always face up
         }
-        System.out.println("\n=== FLOP ===");
+        if(verbose) System.out.println("\n=== FLOP ===");
         displayCommunityCards();
-        notifyState(null);
+        if(recorder != null) recorder.board(phase, table.getCommunityCards());
+        notifyBoard();
     }
 
     //deal 1 community card
     public void turn(){
+        phase = PHASE.TURN;
         deck.deal();//burn card
-        Card c = deck.deal();
-        c.flip();//face up
-        table.addCommunityCard(c);
-        System.out.println("\n=== TURN ===");
+        table.addCommunityCard(deck.deal());//board cards are always face up
+        if(verbose) System.out.println("\n=== TURN ===");
         displayCommunityCards();
-        notifyState(null);
+        if(recorder != null) recorder.board(phase, table.getCommunityCards());
+        notifyBoard();
     }
     /**
      * Same as turn but for river segment of game
      */
     public void river(){ 
+        phase = PHASE.RIVER;
         deck.deal();//burn card
-        Card c = deck.deal();
-        c.flip();//face up
-        table.addCommunityCard(c);
-        System.out.println("\n=== RIVER ===");
+        table.addCommunityCard(deck.deal());//board cards are always face up
+        if(verbose) System.out.println("\n=== RIVER ===");
         displayCommunityCards();
-        notifyState(null);
+        if(recorder != null) recorder.board(phase, table.getCommunityCards());
+        notifyBoard();
+    }
+    /**
+     * Tells observers about the cards the current street added to the board
+     */
+    private void notifyBoard(){
+        List<Card> board = table.getCommunityCards();
+        int first = phase == PHASE.FLOP ? 0 : board.size() - 1;
+        for(int i = first; i < board.size(); i++){
+            for(GameObserver o : observers) o.onBoardCard(i, board.get(i));
+        }
     }
     /**
      * Used before GUI implementation
      */ 
     private void displayCommunityCards(){
+        if(!verbose) return;
         System.out.print("River: ");
         for(Card c : table.getCommunityCards()){
             System.out.print(c + " | ");
         }
         System.out.println();
     }
-    /**
-     * Resets and shuffles the deck for a new hand
-     */
-    private void resetDeck(){
-        deck.reset();
-        deck.shuffle();
-    }
-    /**
-     * Build current game state for GUI
-     * @param actingPlayer player whose turn it is, null if none
-     */
-    private GameState buildGameState(Player actingPlayer) {
-        GameState gs = new GameState();
-        gs.players = new ArrayList<>();
-        gs.communityCards = new ArrayList<>(table.getCommunityCards());
-        gs.pot = table.getPot();
-        gs.activePlayerSeat = -1;
-        gs.currentPlayerSeat = -1;
-
-        List<Player> players = table.getPlayers();
-
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-
-            gui.integration.PlayerState ps = new gui.integration.PlayerState(i);
-            ps.seat = i;
-            ps.name = p.getName();
-            ps.chips = p.getChips();
-            ps.folded = p.isFolded();
-            ps.allIn = p.isAllIn();
-
-            List<Card> hand = p.getHand();
-            ps.hole1 = hand.size() > 0 ? hand.get(0) : null;
-            ps.hole2 = hand.size() > 1 ? hand.get(1) : null;
-
-            boolean showdown = table.getCommunityCards().size() == 5;
-            ps.faceUp = (actingPlayer != null && p == actingPlayer) || showdown;
-            ps.active = (actingPlayer != null && p == actingPlayer);
-
-            if (ps.active) {
-                gs.activePlayerSeat = i;
-                gs.currentPlayerSeat = i;
-            }
-
-            gs.players.add(ps);
-        }
-
-        return gs;
-    }
     /**
      * Main game loop for GUI-driven play using Next Hand button
      * Driven by startSingleHand() method
@@ -292,12 +371,10 @@ public class GameEngine{
             // Now WAIT for GUI to send NEXT_HAND
             notifyStateShowdownWait();  // show winner label, buttons disabled except NEXT_HAND
 
-            String action = listener.requestPlayerAction(null);
-            if (!action.equals("NEXT_HAND")) {
+            Decision decision = listener.requestPlayerAction(null, null);
+            if (decision.getAction() != ACTION.NEXT_HAND) {
                 break; // future-proof exit if needed
             }
-
-            resetDeck();
         }
     }
     /**
@@ -306,7 +383,7 @@ public class GameEngine{
     public void startSingleHand() {
         resetPlayersForNewHand();
         assignPositions();
-        deck.shuffle();   // ADD THIS
+        deck.reset();   // one shuffle per hand - cards are shuffled as they are dealt
 
         postBlinds();
         preFlop();
@@ -318,159 +395,301 @@ public class GameEngine{
 
         handleShowdown(); // produces winner label
     }
+    /**
+     * Headless mode: plays hands back to back with no Next Hand wait.
+     * Seats are driven by the PlayerDecider; combine with setVerbose(false) and no
+     * listener so no console output or GameState is produced.
+     * Stops early once fewer than two players have chips.
+     * @param hands maximum number of hands to play
+     * @return number of hands actually played
+     */
+    public int runHeadless(int hands){
+        if(decider == null){
+            throw new IllegalStateException("Headless play needs a PlayerDecider");
+        }
+        ensurePlayers();
+        int played = 0;
+        while(played < hands && playersWithChips() > 1){
+            startSingleHand();
+            dealerIndex = (dealerIndex + 1) % table.getPlayers().size();
+            played++;
+        }
+        return played;
+    }
+
+    private int playersWithChips(){
+        int count = 0;
+        for(Player p : table.getPlayers()){
+            if(p.getChips() > 0){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Step-driven play: shuffles, posts blinds, deals and runs up to the first decision.
+     * From here the hand only moves when apply() is called, so no thread ever waits;
+     * one thread can drive many engines, or a server can resume a table per client message.
+     * The listener (if any) still receives state updates; the decider is not used.
+     * @throws IllegalStateException if a hand is in progress or fewer than two players have chips
+     */
+    public void startHand(){
+        if(phase != PHASE.WAITING && phase != PHASE.HAND_OVER){
+            throw new IllegalStateException("Hand already in progress");
+        }
+        ensurePlayers();
+        if(playersWithChips() < 2){
+            throw new IllegalStateException("Fewer than two players have chips");
+        }
+        resetPlayersForNewHand();
+        assignPositions();
+        deck.reset();
+
+        postBlinds();
+        preFlop();
+        beginBettingRound(true);
+        advance();
+    }
+
+    /**
+     * Whose turn it is and what they may do, or that the hand is over.
+     * The same TurnState instance is updated in place by every step.
+     */
+    public TurnState currentState(){
+        return turnState;
+    }
+
+    /**
+     * Applies the decision of the player to act and runs the hand on to the next decision,
+     * dealing streets and settling the showdown as needed.
+     * NEXT_HAND once the hand is over starts the next one.
+     * @throws IllegalStateException if no decision is expected
+     */
+    public void apply(Decision decision){
+        if(decision.getAction() == ACTION.NEXT_HAND){
+            startHand();
+            return;
+        }
+        if(!turnState.isAwaitingAction()){
+            throw new IllegalStateException("No player to act (" + phase + ")");
+        }
+        applyDecision(turnState.getPlayer(), decision);
+        advance();
+    }
+
+    /**
+     * Runs streets until a player has to act or the hand is over
+     */
+    private void advance(){
+        while(!nextToAct()){
+            table.resetCurrentBet();
+            notifyTurn(-1);
+            if(table.getPlayersInHand() <= 1 || phase == PHASE.RIVER){
+                handleShowdown();
+                dealerIndex = (dealerIndex + 1) % table.getPlayers().size();
+                turnState.set(phase, -1, null);
+                return;
+            }
+            if(phase == PHASE.PRE_FLOP){
+                flop();
+            } else if(phase == PHASE.FLOP){
+                turn();
+            } else {
+                river();
+            }
+            beginBettingRound(false);
+        }
+        Player p = table.getPlayers().get(currentPlayerIndex);
+        prepareDecision(p);
+        turnState.set(phase, currentPlayerIndex, p);
+    }
+
     /**
      * Notify GUI to show winner and wait for Next Hand
      */
     private void notifyStateShowdownWait() {
-        GameState gs = buildGameState(null);
+        if(listener == null) return;
+        GameState gs = snapshot();
         gs.waitingForNextHand = true; // TablePanel shows winner & Next Hand button
         listener.onStateUpdated(gs);
     }
 
     /**
-     * Main betting logic
+     * Main betting logic (blocking): asks each player in turn until the round is complete
      * @param isPreFlop true if this is pre-flop betting, false otherwise
      */
     public void bet(boolean isPreFlop){
-        List<Player> players = table.getPlayers();
-        
+        beginBettingRound(isPreFlop);
+        while(nextToAct()){
+            Player p = table.getPlayers().get(currentPlayerIndex);
+            prepareDecision(p);
+
+            // Wait for player's action via decider or listener
+            Decision decision = requestAction(p);
+            if(decision.getAction() == ACTION.NEXT_HAND){
+                // Ignore NEXT_HAND during betting
+                return;
+            }
+            applyDecision(p, decision);
+        }
+        table.resetCurrentBet();
+        notifyTurn(-1);
+    }
+
+    /**
+     * Sets up the betting-round state; the round itself is advanced by nextToAct/applyDecision
+     */
+    private void beginBettingRound(boolean isPreFlop){
+        int numPlayers = table.getPlayers().size();
         // Determine starting position
-        int startIndex = isPreFlop
-                ? (dealerIndex + 3) % players.size() //UTG
-                : (dealerIndex + 1) % players.size();//left of dealer
-        int currentPlayerIndex = startIndex;
-        int lastRaiserIndex = -1;
-        boolean firstLoop = true;
-
-        while(true){
+        startIndex = isPreFlop
+                ? preFlopStartIndex //UTG
+                : (dealerIndex + 1) % numPlayers;//left of dealer
+        currentPlayerIndex = startIndex;
+        lastRaiserIndex = -1;
+        lastRaiseSize = 0;
+        firstLoop = true;
+        roundComplete = false;
+    }
+
+    /**
+     * Skips players who cannot act (folded, all-in)
+     * @return true if the player at currentPlayerIndex must act now, false if the round is over
+     */
+    private boolean nextToAct(){
+        while(!roundComplete){
             if(table.getPlayersInHand() <= 1){
-                table.resetCurrentBet();
-                notifyState(null);
-                break; // Hand over
+                return false; // Hand over
             }
-            Player p = players.get(currentPlayerIndex);
+            Player p = table.getPlayers().get(currentPlayerIndex);
             if(!p.isFolded() && !p.isAllIn()){
+                return true;
+            }
+            roundComplete = passTurn();
+        }
+        return false;
+    }
 
-                int amountToCall = table.getCurrentBet() - p.getCurrentBet();
-                notifyState(p);
-
-                // Wait for player's action via listener
-                String action = listener.requestPlayerAction(p).toUpperCase();
-
-                //handle user-entered raise
-                
-                if (action.startsWith("RAISE")) {
-                    String[] parts = action.split(":");
-                    if (parts.length < 2) {
-                        System.out.println("ERROR: RAISE received without amount");
-                        continue; 
-                    }
-
-                    int raiseAmount;
-                    try {
-                        raiseAmount = Integer.parseInt(parts[1]);
-                    } catch (NumberFormatException e) {
-                        System.out.println("ERROR: Invalid raise amount");
-                        continue;
-                    }
-
-                    int callAmount = table.getCurrentBet() - p.getCurrentBet();
-                    int totalPutIn = callAmount + raiseAmount;
-
-                    // Cap to player's stack
-                    totalPutIn = Math.min(totalPutIn, p.getChips());
-
-                    int contributed = p.placeBet(totalPutIn);
-                    table.addToPot(contributed);
-
-                    // Update current bet if this is now the largest
-                    if (p.getCurrentBet() > table.getCurrentBet()) {
-                        table.setCurrentBet(p.getCurrentBet());
-                        lastRaiserIndex = currentPlayerIndex;
-                    }
+    /**
+     * Fills the legal actions for the player to act and shows the state
+     */
+    private void prepareDecision(Player p){
+        legal.update(table.getCurrentBet() - p.getCurrentBet(), Math.max(lastRaiseSize, table.getBigBlind()), p.getChips());
+        notifyTurn(currentPlayerIndex);
+    }
 
-                    // *** CRITICAL FIX ***  
-                    // Advance the turn immediately and continue loop normally
-                    currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-                    firstLoop = false;
-                    notifyState(null);
-                    continue;  
+    /**
+     * Applies one betting decision of the player at currentPlayerIndex and moves the turn on.
+     * legal must have been prepared for this player.
+     */
+    private void applyDecision(Player p, Decision decision){
+        int amountToCall = legal.getCallAmount();
+        switch(decision.getAction()){
+            case FOLD:
+                p.fold();
+                if(verbose) System.out.println(p.getName() + " folds.");
+                record(ACTION.FOLD, 0, p);
+                for(GameObserver o : observers) o.onFold(currentPlayerIndex);
+                break;
+
+            case CHECK:
+            case CALL:
+                // CHECK while facing a bet is treated as a call
+                int paid = 0;
+                if(amountToCall > 0){
+                    paid = p.placeBet(amountToCall);
+                    table.addToPot(paid);
                 }
-
-                if(action.equals("NEXT_HAND")){
-                    // Ignore NEXT_HAND during betting
-                    return;
+                if(verbose) System.out.println(p.getName() + (amountToCall > 0 ? " calls." : " checks."));
+                record(amountToCall > 0 ? ACTION.CALL : ACTION.CHECK, paid, p);
+                break;
+
+            case RAISE:
+                if(!legal.canRaise()){
+                    // nothing behind after calling: the raise becomes a call
+                    int called = p.placeBet(amountToCall);
+                    table.addToPot(called);
+                    if(verbose) System.out.println(p.getName() + " calls.");
+                    record(ACTION.CALL, called, p);
+                    break;
                 }
-                
-                switch(action.toUpperCase()){
-                    case "FOLD":
-                        p.fold();
-                        System.out.println(p.getName() + " folds.");
-                        break;
-
-                    case "CHECK":
-                        if(amountToCall > 0){
-                            int paid = p.placeBet(amountToCall);
-                            table.addToPot(paid);
-                        }
-                        System.out.println(p.getName() + " checks.");
-                        break;
+                int raiseAmount = legal.clampRaise(decision.getAmount());
+                int contributed = p.placeBet(amountToCall + raiseAmount);
+                table.addToPot(contributed);
+                if(verbose) System.out.println(p.getName() + " raises $" + raiseAmount);
+                record(ACTION.RAISE, contributed, p);
+                raiseTo(p);
+
+                // Advance the turn immediately; everyone else gets to respond
+                currentPlayerIndex = (currentPlayerIndex + 1) % table.getPlayers().size();
+                firstLoop = false;
+                return;
+
+            case ALL_IN:
+                int allInAmount = p.getChips();
+                int betAmount = p.placeBet(allInAmount);
+                table.addToPot(betAmount);
+                if(verbose) System.out.println(p.getName() + " goes all-in: $" + betAmount);
+                record(ACTION.ALL_IN, betAmount, p);
+                raiseTo(p);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Not a betting action: " + decision);
+        }
+        roundComplete = passTurn();
+    }
 
-                    case "CALL":
-                        if(amountToCall > 0){
-                            int paid = p.placeBet(amountToCall);
-                            table.addToPot(paid);
-                        }
-                        System.out.println(p.getName() + " calls.");
-                        break;
+    private void record(ACTION action, int amount, Player p){
+        if(recorder != null) recorder.action(currentPlayerIndex, action, amount, p.getCurrentBet());
+        if(amount > 0) notifyBet(currentPlayerIndex, amount, p);
+    }
 
-                    case "ALL_IN":
-                        int allInAmount = p.getChips();
-                        int betAmount = p.placeBet(allInAmount);
-                        table.addToPot(betAmount);
-                        System.out.println(p.getName() + " goes all-in: $" + betAmount);
+    /**
+     * Update current bet if this player's bet is now the largest
+     */
+    private void raiseTo(Player p){
+        if(p.getCurrentBet() > table.getCurrentBet()){
+            lastRaiseSize = Math.max(lastRaiseSize, p.getCurrentBet() - table.getCurrentBet());
+            table.setCurrentBet(p.getCurrentBet());
+            lastRaiserIndex = currentPlayerIndex;
+        }
+    }
 
-                        if(p.getCurrentBet() > table.getCurrentBet()){
-                            table.setCurrentBet(p.getCurrentBet());
-                            lastRaiserIndex = currentPlayerIndex;
-                        }
+    /**
+     * Moves the turn to the next seat
+     * @return true if the betting round is complete
+     */
+    private boolean passTurn(){
+        List<Player> players = table.getPlayers();
+        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        // Check if betting round is complete
+        if(!firstLoop && currentPlayerIndex == startIndex){
+            boolean allBetsEqual = true;
+            for(Player x : players){
+                if(!x.isFolded() && !x.isAllIn()){
+                    if(x.getCurrentBet() != table.getCurrentBet()){
+                        allBetsEqual = false;
                         break;
-                    default:
-                        System.out.println("Invalid action received: " + action);
-                }
-            }
-
-            //int prevIndex = currentPlayerIndex;
-            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
-            // Check if betting round is complete
-            if(!firstLoop && currentPlayerIndex == startIndex){
-                boolean allBetsEqual = true;
-                //int targetBet = table.getCurrentBet();
-                for(Player x : players){
-                    if(!x.isFolded() && !x.isAllIn()){
-                        if(x.getCurrentBet() != table.getCurrentBet()){
-                            allBetsEqual = false;
-                            break;
-                        }
                     }
                 }
-                if(allBetsEqual){
-                    break; // Betting round complete
-                }
             }
-            if(lastRaiserIndex != -1 && currentPlayerIndex == lastRaiserIndex && !firstLoop){
-                break;//betting round complete
+            if(allBetsEqual){
+                return true; // Betting round complete
             }
-            firstLoop = false;
-
         }
-        table.resetCurrentBet();
-        notifyState(null);
+        if(lastRaiserIndex != -1 && currentPlayerIndex == lastRaiserIndex && !firstLoop){
+            return true;//betting round complete
+        }
+        firstLoop = false;
+        return false;
     }
     /**
      * Handles the showdown logic to determine the winner(s)
      */
     private void handleShowdown(){
+        phase = PHASE.HAND_OVER;
         List<Player> players = table.getPlayers();
         List<Player> contenders = new ArrayList<>();
         for(Player p : players){
@@ -481,7 +700,8 @@ public class GameEngine{
         
         if(contenders.isEmpty()){
             table.setWinnerText("All players folded. No winner.");
-            notifyState(null,true);
+            if(recorder != null) recorder.endHand();
+            notifyHandOver();
             return;
         }
         if(contenders.size() == 1){
@@ -490,123 +710,100 @@ public class GameEngine{
             winner.addChips(table.getPot());
             String msg = winner.getName() + " wins the pot of $" + table.getPot();
             table.setWinnerText(msg);
-            System.out.println(winner.getName() + " wins the pot of $" + table.getPot() + " by default (all others folded).");
-            notifyState(null,true);
+            if(verbose) System.out.println(winner.getName() + " wins the pot of $" + table.getPot() + " by default (all others folded).");
+            if(recorder != null){
+                recorder.award(players.indexOf(winner), table.getPot());
+                recorder.endHand();
+            }
+            notifyAward(players.indexOf(winner), table.getPot(), winner);
+            notifyHandOver();
             return;
         }
         
         // Multiple players to showdown - evaluate hands
-        System.out.println("\n=== SHOWDOWN ===");
-        Map<Player, HAND_WEIGHT> playerHands = new HashMap<>();
+        // Strength encodes hand rank plus every kicker, so one int comparison decides
+        if(verbose) System.out.println("\n=== SHOWDOWN ===");
+        int[] strengths = handChecker.checkStrengths(contenders, table.getCommunityCards());
+        int bestStrength = -1;
         
-        for(Player p : contenders){
-            HAND_WEIGHT weight = handChecker.checkWeight(p, table.getCommunityCards());
-            playerHands.put(p, weight);
-            System.out.println(p.getName() + "'s hand: " + p.getHand() + " - " + weight);
-        }
-        
-        // Find the best hand weight
-        int bestWeight = -1;
-        for(HAND_WEIGHT weight : playerHands.values()){
-            if(weight.getWeight() > bestWeight){
-                bestWeight = weight.getWeight();
+        for(int i = 0; i < contenders.size(); i++){
+            Player p = contenders.get(i);
+            if(strengths[i] > bestStrength){
+                bestStrength = strengths[i];
             }
+            if(verbose) System.out.println(p.getName() + "'s hand: " + p.getHand() + " - " + HandEvaluator.weightOf(strengths[i]));
+            if(recorder != null) recorder.showdown(players.indexOf(p), strengths[i]);
         }
         
-        // Find all players with the best hand
+        // Find all players with the best hand (more than one only on an exact tie)
         List<Player> winners = new ArrayList<>();
-        for(Player p : contenders){
-            if(playerHands.get(p).getWeight() == bestWeight){
-                winners.add(p);
+        for(int i = 0; i < contenders.size(); i++){
+            if(strengths[i] == bestStrength){
+                winners.add(contenders.get(i));
             }
         }
-        
-        // If there's a tie on hand rank, compare high cards
-        if(winners.size() > 1){
-            winners = breakTie(winners);
-        }
+        HAND_WEIGHT bestHand = HandEvaluator.weightOf(bestStrength);
         
         StringBuilder resultText = new StringBuilder();
         
         if(winners.size() == 1){
             Player winner = winners.get(0);
             winner.addChips(table.getPot());
-            String msg = winner.getName() + " wins the pot of $" + table.getPot() + " with " + playerHands.get(winner);
+            String msg = winner.getName() + " wins the pot of $" + table.getPot() + " with " + bestHand;
             resultText.append(msg);
-            System.out.println("\n" + winner.getName() + " wins the pot of $" + table.getPot() + " with " + playerHands.get(winner));
+            if(verbose) System.out.println("\n" + winner.getName() + " wins the pot of $" + table.getPot() + " with " + bestHand);
+            if(recorder != null) recorder.award(players.indexOf(winner), table.getPot());
+            notifyAward(players.indexOf(winner), table.getPot(), winner);
         } else {
             // Award pot (split if necessary)
             int potShare = table.getPot() / winners.size();
             int remainder = table.getPot() % winners.size();
-            System.out.println("\nPot is split among winners:");
+            if(verbose) System.out.println("\nPot is split among winners:");
             resultText.append("Pot split: ");
             for(int i = 0; i < winners.size(); i++){
                 Player winner = winners.get(i);
                 int award = potShare + (i == 0 ? remainder : 0); // Give remainder to first winner
                 winner.addChips(award);
-                System.out.println("  " + winner.getName() + " receives $" + award);
+                if(verbose) System.out.println("  " + winner.getName() + " receives $" + award);
+                if(recorder != null) recorder.award(players.indexOf(winner), award);
+                notifyAward(players.indexOf(winner), award, winner);
                 if (i > 0) resultText.append(", ");
                 resultText.append(winner.getName()).append(" ($").append(award).append(")");
             }
         }
         table.setWinnerText(resultText.toString());
-        notifyState(null,true);
-        listener.onAwaitNextHand();
+        if(recorder != null) recorder.endHand();
+        notifyHandOver();
+        if(listener != null){
+            listener.onAwaitNextHand();
+        }
     }
-    
     /**
-     * Break tie between players with same hand rank by comparing high cards
-     * Returns list of winners (may still be multiple if exact tie)
+     * Asks the decider (bots) or else the listener (GUI) for the player's action
      */
-    private List<Player> breakTie(List<Player> tiedPlayers){
-        if(tiedPlayers.size() <= 1) return tiedPlayers;
-        
-        // Get all cards for each player
-        Map<Player, List<Card>> playerCards = new HashMap<>();
-        for(Player p : tiedPlayers){
-            List<Card> allCards = new ArrayList<>();
-            allCards.addAll(p.getHand());
-            allCards.addAll(table.getCommunityCards());
-            // Sort by value descending
-            allCards.sort((a, b) -> b.getValue().getValue() - a.getValue().getValue());
-            playerCards.put(p, allCards);
+    private Decision requestAction(Player p){
+        if(decider != null){
+            return decider.decide(p, table, legal);
         }
-        
-        // Compare high cards
-        int maxHighCard = -1;
-        for(List<Card> cards : playerCards.values()){
-            int highCard = cards.get(0).getValue().getValue();
-            if(highCard > maxHighCard){
-                maxHighCard = highCard;
-            }
-        }
-        
-        List<Player> winners = new ArrayList<>();
-        for(Map.Entry<Player, List<Card>> entry : playerCards.entrySet()){
-            if(entry.getValue().get(0).getValue().getValue() == maxHighCard){
-                winners.add(entry.getKey());
-            }
-        }
-        
-        return winners;
+        return listener.requestPlayerAction(p, legal);
     }
+    
     /**
-     * Build and send current game state to GUI
-     * @param actingPlayer player whose turn it is, null if none
-     * @param revealAll if true, all players' cards are face up (showdown)
+     * Full state of the table, built on request: the acting player's cards are face up,
+     * and every hand once the hand is over.
+     * Observers get the changes as they happen; this is for a new or resyncing view.
      */
-    private void notifyState(Player actingPlayer, boolean revealAll){
-        if(listener == null) return;
-
+    public GameState snapshot(){
         GameState gs = new GameState();
         gs.players = new ArrayList<>();
         gs.communityCards = new ArrayList<>(table.getCommunityCards());
         gs.pot = table.getPot();
         gs.winnerText = table.getWinnerText();
 
-        gs.activePlayerSeat = -1;
-        gs.currentPlayerSeat = -1;
+        gs.activePlayerSeat = turnSeat;
+        gs.currentPlayerSeat = turnSeat;
         gs.dealerSeat = dealerIndex;
+        boolean revealAll = phase == PHASE.HAND_OVER;
 
         List<Player> players = table.getPlayers();
 
@@ -624,22 +821,31 @@ public class GameEngine{
             ps.hole1 = (hand.size() > 0) ? hand.get(0) : null;
             ps.hole2 = (hand.size() > 1) ? hand.get(1) : null;
 
-            ps.faceUp = (actingPlayer != null && p == actingPlayer) || revealAll;
-            ps.active = (actingPlayer != null && p == actingPlayer);
-
-            if(ps.active){
-                gs.currentPlayerSeat = i;
-                gs.activePlayerSeat = i;
-            }
+            ps.active = i == turnSeat;
+            ps.faceUp = ps.active || revealAll || table.isHandFaceUp(i);
             gs.players.add(ps); 
         }
-        listener.onStateUpdated(gs);
+        return gs;
     }
-    /**
-     * Build and send current game state to GUI
-     * Alias for notifyState with revealAll = false
-     */
-    private void notifyState(Player actingPlayer){
-        notifyState(actingPlayer, false);
+
+    private void notifyBet(int seat, int amount, Player p){
+        for(GameObserver o : observers){
+            o.onBet(seat, amount, p.getChips(), p.getCurrentBet());
+            o.onPotChanged(table.getPot());
+        }
+    }
+
+    private void notifyTurn(int seat){
+        turnSeat = seat;
+        for(GameObserver o : observers) o.onTurn(seat);
+    }
+
+    private void notifyAward(int seat, int amount, Player winner){
+        for(GameObserver o : observers) o.onAward(seat, amount, winner.getChips());
+    }
+
+    private void notifyHandOver(){
+        turnSeat = -1;
+        for(GameObserver o : observers) o.onHandOver(table.getWinnerText());
     }
 }
@@ -0,0 +1,255 @@
+package game;
+
+import cards.*;
+import java.util.List;
+
+/**
+ * Allocation-free hand evaluator working on a bitmask encoding of the cards.
+ *
+ * Card encoding:
+ *  -code = SUIT.ordinal() * 13 + VALUE.ordinal()   (0..51)
+ *  -mask = 1L << code, so a hand is the OR of its card masks
+ *
+ * Each suit therefore owns a 13-bit slice of the mask, with bit 0 = TWO and bit 12 = ACE.
+ * All checks are done with bit tricks on those four slices plus one small lookup table,
+ * so no objects are created per evaluation.
+ *
+ * Hand strength is a single int that orders hands exactly like showdown does:
+ *  -bits 20..23: HAND_WEIGHT ordinal
+ *  -bits 0..19 : five 4-bit rank ordinals, most significant first
+ *                (e.g. pair rank, then the three kickers)
+ * A higher strength always wins, equal strengths split the pot.
+ */
+public final class HandEvaluator{
+    private static final int RANK_BITS = 13;
+    private static final int RANK_MASK = 0x1FFF;
+    private static final int CATEGORY_SHIFT = 20;
+
+    private static final HAND_WEIGHT[] WEIGHTS = HAND_WEIGHT.values();
+
+    // STRAIGHT_HIGH[rankMask] = highest rank ordinal of the best straight + 1, or 0 if none
+    private static final byte[] STRAIGHT_HIGH = new byte[1 << RANK_BITS];
+
+    static{
+        for(int ranks = 0; ranks < STRAIGHT_HIGH.length; ranks++){
+            for(int high = VALUE.ACE.ordinal(); high >= VALUE.SIX.ordinal(); high--){
+                int run = 0x1F << (high - 4);
+                if((ranks & run) == run){
+                    STRAIGHT_HIGH[ranks] = (byte)(high + 1);
+                    break;
+                }
+            }
+            // Ace-low straight (A, 2, 3, 4, 5) - five is the high card
+            int wheel = (1 << VALUE.ACE.ordinal()) | 0xF;
+            if(STRAIGHT_HIGH[ranks] == 0 && (ranks & wheel) == wheel){
+                STRAIGHT_HIGH[ranks] = (byte)(VALUE.FIVE.ordinal() + 1);
+            }
+        }
+    }
+
+    private HandEvaluator(){ }
+
+    /**
+     * Packed int code for a card (0..51)
+     */
+    public static int code(Card c){
+        return c.getIndex();
+    }
+
+    /**
+     * Single-bit mask for a card
+     */
+    public static long mask(Card c){
+        return 1L << code(c);
+    }
+
+    /**
+     * OR of the masks of every card in the list
+     */
+    public static long toMask(List<Card> cards){
+        long mask = 0L;
+        for(int i = 0; i < cards.size(); i++){
+            mask |= mask(cards.get(i));
+        }
+        return mask;
+    }
+
+    /**
+     * OR of the masks for a run of packed card codes
+     */
+    public static long toMask(int[] codes, int from, int count){
+        long mask = 0L;
+        for(int i = from; i < from + count; i++){
+            mask |= 1L << codes[i];
+        }
+        return mask;
+    }
+
+    /**
+     * Evaluates the best 5-card hand contained in the mask (any number of cards up to 7)
+     */
+    public static HAND_WEIGHT evaluate(long cards){
+        return WEIGHTS[category(cards)];
+    }
+
+    /**
+     * Evaluates the best 5-card hand from packed card codes
+     */
+    public static HAND_WEIGHT evaluate(int[] codes, int from, int count){
+        return WEIGHTS[category(toMask(codes, from, count))];
+    }
+
+    /**
+     * Returns the HAND_WEIGHT ordinal of the best 5-card hand in the mask
+     */
+    public static int category(long cards){
+        return strength(cards) >>> CATEGORY_SHIFT;
+    }
+
+    /**
+     * Returns the HAND_WEIGHT encoded in a strength value
+     */
+    public static HAND_WEIGHT weightOf(int strength){
+        return WEIGHTS[strength >>> CATEGORY_SHIFT];
+    }
+
+    /**
+     * Returns the kicker-aware strength of the best 5-card hand in the mask
+     */
+    public static int strength(long cards){
+        int s0 = (int)(cards & RANK_MASK);
+        int s1 = (int)((cards >>> RANK_BITS) & RANK_MASK);
+        int s2 = (int)((cards >>> (2 * RANK_BITS)) & RANK_MASK);
+        int s3 = (int)((cards >>> (3 * RANK_BITS)) & RANK_MASK);
+        return strength(s0, s1, s2, s3);
+    }
+
+    /**
+     * Batch evaluation of many hole-card masks against one board.
+     * The board's per-suit rank masks (its rank histogram and suit counts in bit form)
+     * are split out once; each hand then only ORs in its own two cards.
+     * @param board mask of the community cards
+     * @param holes hole-card masks, one per player
+     * @param count number of entries of holes to evaluate
+     * @param out receives one strength per hand
+     */
+    public static void strengths(long board, long[] holes, int count, int[] out){
+        int b0 = (int)(board & RANK_MASK);
+        int b1 = (int)((board >>> RANK_BITS) & RANK_MASK);
+        int b2 = (int)((board >>> (2 * RANK_BITS)) & RANK_MASK);
+        int b3 = (int)((board >>> (3 * RANK_BITS)) & RANK_MASK);
+        for(int i = 0; i < count; i++){
+            long h = holes[i];
+            out[i] = strength(b0 | (int)(h & RANK_MASK),
+                              b1 | (int)((h >>> RANK_BITS) & RANK_MASK),
+                              b2 | (int)((h >>> (2 * RANK_BITS)) & RANK_MASK),
+                              b3 | (int)((h >>> (3 * RANK_BITS)) & RANK_MASK));
+        }
+    }
+
+    /**
+     * Strength from the four per-suit rank masks
+     */
+    static int strength(int s0, int s1, int s2, int s3){
+        int ranks = s0 | s1 | s2 | s3;
+
+        int flush = flushRanks(s0, s1, s2, s3);
+        if(flush != 0){
+            int high = STRAIGHT_HIGH[flush];
+            if(high == VALUE.ACE.ordinal() + 1){
+                return make(HAND_WEIGHT.ROYAL_FLUSH, high - 1);
+            } else if(high != 0){
+                return make(HAND_WEIGHT.STRAIGHT_FLUSH, high - 1);
+            }
+        }
+
+        int quads = s0 & s1 & s2 & s3;
+        if(quads != 0){
+            int quad = highRank(quads);
+            return make(HAND_WEIGHT.FOUR_OF_A_KIND, quad, highRank(ranks & ~quads));
+        }
+
+        int atLeast2 = (s0 & s1) | (s0 & s2) | (s0 & s3) | (s1 & s2) | (s1 & s3) | (s2 & s3);
+        int trips = (s0 & s1 & s2) | (s0 & s1 & s3) | (s0 & s2 & s3) | (s1 & s2 & s3);
+        int pairs = atLeast2 & ~trips;
+
+        if(trips != 0){
+            int trip = highRank(trips);
+            // a second set of three counts as the pair of a full house
+            int rest = (trips & ~(1 << trip)) | pairs;
+            if(rest != 0){
+                return make(HAND_WEIGHT.FULL_HOUSE, trip, highRank(rest));
+            }
+        }
+        if(flush != 0){
+            return (HAND_WEIGHT.FLUSH.ordinal() << CATEGORY_SHIFT) | topRanks(flush, 5);
+        }
+        int straight = STRAIGHT_HIGH[ranks];
+        if(straight != 0){
+            return make(HAND_WEIGHT.STRAIGHT, straight - 1);
+        }
+        if(trips != 0){
+            int trip = highRank(trips);
+            return make(HAND_WEIGHT.THREE_OF_A_KIND, trip) | (topRanks(ranks & ~trips, 2) >>> 4);
+        }
+        if(Integer.bitCount(pairs) >= 2){
+            int high = highRank(pairs);
+            int low = highRank(pairs & ~(1 << high));
+            int kicker = highRank(ranks & ~(1 << high) & ~(1 << low));
+            return make(HAND_WEIGHT.TWO_PAIR, high, low, kicker);
+        }
+        if(pairs != 0){
+            int pair = highRank(pairs);
+            return make(HAND_WEIGHT.PAIR, pair) | (topRanks(ranks & ~pairs, 3) >>> 4);
+        }
+        return (HAND_WEIGHT.HIGH_CARD.ordinal() << CATEGORY_SHIFT) | topRanks(ranks, 5);
+    }
+
+    /**
+     * Packs a category with up to three leading ranks
+     */
+    private static int make(HAND_WEIGHT weight, int r1){
+        return (weight.ordinal() << CATEGORY_SHIFT) | (r1 << 16);
+    }
+
+    private static int make(HAND_WEIGHT weight, int r1, int r2){
+        return make(weight, r1) | (r2 << 12);
+    }
+
+    private static int make(HAND_WEIGHT weight, int r1, int r2, int r3){
+        return make(weight, r1, r2) | (r3 << 8);
+    }
+
+    /**
+     * Highest rank ordinal in a rank mask (0 for an empty mask, i.e. fewer than 5 cards)
+     */
+    private static int highRank(int ranks){
+        return ranks == 0 ? 0 : 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    /**
+     * Packs the n highest ranks of the mask into nibbles, starting at bits 16..19
+     */
+    private static int topRanks(int ranks, int n){
+        int packed = 0;
+        int shift = 16;
+        for(int i = 0; i < n && ranks != 0; i++){
+            int r = highRank(ranks);
+            packed |= r << shift;
+            ranks &= ~(1 << r);
+            shift -= 4;
+        }
+        return packed;
+    }
+
+    /**
+     * Rank mask of the suit holding 5+ cards, or 0 if there is no flush
+     */
+    private static int flushRanks(int s0, int s1, int s2, int s3){
+        if(Integer.bitCount(s0) >= 5) return s0;
+        if(Integer.bitCount(s1) >= 5) return s1;
+        if(Integer.bitCount(s2) >= 5) return s2;
+        if(Integer.bitCount(s3) >= 5) return s3;
+        return 0;
+    }
+}
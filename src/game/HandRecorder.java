@@ -0,0 +1,44 @@
+package game;
+
+import cards.Card;
+import java.util.List;
+
+/**
+ * Receives every event of every hand the GameEngine plays, in order:
+ * startHand, blinds, hole cards, actions and board cards street by street,
+ * showdown strengths, awards, endHand.
+ *
+ * Seats are indexes into table.getPlayers(). Implementations (binary log,
+ * text export, ...) are called on the engine thread and should be cheap.
+ */
+public interface HandRecorder {
+    /**
+     * A new hand begins; players still hold their chips from before the blinds
+     */
+    void startHand(long handNumber, Table table, int dealerSeat);
+
+    void blind(int seat, int amount, boolean bigBlind);
+
+    void holeCards(int seat, Card first, Card second);
+
+    /**
+     * One betting action
+     * @param amount chips the action put into the pot
+     * @param roundBet the player's total bet in this betting round afterwards
+     */
+    void action(int seat, ACTION action, int amount, int roundBet);
+
+    /**
+     * Board after the cards of the given street were dealt
+     */
+    void board(PHASE street, List<Card> board);
+
+    /**
+     * A player's hand at showdown (see HandEvaluator.strength)
+     */
+    void showdown(int seat, int strength);
+
+    void award(int seat, int amount);
+
+    void endHand();
+}
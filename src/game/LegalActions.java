@@ -0,0 +1,61 @@
+package game;
+
+/**
+ * What the player to act may do, computed by the GameEngine before each decision.
+ * Raise limits are amounts on top of the call, as in Decision.raise().
+ *
+ * One instance is reused by the engine for every decision, so read it during
+ * the decision and don't keep it.
+ */
+public final class LegalActions{
+    private int callAmount;
+    private int minRaise;
+    private int maxRaise;
+
+    LegalActions(){ }
+
+    /**
+     * @param owed current bet minus the player's bet this round; 0 or less means nothing to call
+     * @param minRaise smallest full raise allowed
+     * @param stack the player's chips
+     */
+    void update(int owed, int minRaise, int stack){
+        int chips = Math.max(0, stack);
+        this.callAmount = Math.max(0, Math.min(owed, chips));
+        this.maxRaise = chips - callAmount;
+        this.minRaise = Math.min(minRaise, this.maxRaise);
+    }
+
+    public int getCallAmount(){
+        return callAmount;
+    }
+
+    public int getMinRaise(){
+        return minRaise;
+    }
+
+    public int getMaxRaise(){
+        return maxRaise;
+    }
+
+    /**
+     * True when nothing is owed, so CHECK is allowed instead of CALL
+     */
+    public boolean canCheck(){
+        return callAmount == 0;
+    }
+
+    /**
+     * True when the player has chips left after calling
+     */
+    public boolean canRaise(){
+        return maxRaise > 0;
+    }
+
+    /**
+     * Clamps a raise amount into [minRaise, maxRaise]
+     */
+    public int clampRaise(int amount){
+        return Math.max(minRaise, Math.min(amount, maxRaise));
+    }
+}
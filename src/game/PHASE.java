@@ -0,0 +1,13 @@
+package game;
+
+/**
+ * Stage of the current hand in GameEngine
+ */
+public enum PHASE {
+    WAITING,    // no hand started yet
+    PRE_FLOP,
+    FLOP,
+    TURN,
+    RIVER,
+    HAND_OVER   // pot awarded, waiting for the next hand
+}
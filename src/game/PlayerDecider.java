@@ -0,0 +1,19 @@
+package game;
+
+import players.Player;
+
+/**
+ * Programmatic source of betting decisions (bots, simulations).
+ * When set on a GameEngine it is asked instead of the GUI listener,
+ * so hands can be played without anyone clicking buttons.
+ */
+public interface PlayerDecider {
+    /**
+     * Chooses the action for the player whose turn it is.
+     * @param player the player to act
+     * @param table current table (pot, current bet, community cards)
+     * @param legal call amount, raise limits and whether checking is allowed
+     * @return the decision; raises outside the legal limits are clamped by the engine
+     */
+    Decision decide(Player player, Table table, LegalActions legal);
+}
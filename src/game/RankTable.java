@@ -0,0 +1,216 @@
+package game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Precomputed 7-card strength table, memory-mapped from resources/handranks.dat.
+ *
+ * Two perfect-hash tables are stored, both holding HandEvaluator strength values:
+ *  -flush table (8192 entries): indexed by the 13-bit rank mask of the suit with 5+ cards.
+ *   With 7 cards a flush can never be beaten by quads or a full house, so this is final.
+ *  -rank table (49205 entries): indexed by a minimal perfect hash of the rank counts
+ *   (how many of each rank are held, 0..4, summing to 7).
+ *
+ * The file is mapped read-only, so several JVMs on one machine share the same page cache copy.
+ * A lookup measured about twice as slow as HandEvaluator.strength, so CheckHand does not route
+ * hands through it; it is kept as an independent reference for checking the evaluator.
+ * Generate the file with:  java -cp class game.RankTable [path]
+ */
+public final class RankTable{
+    public static final String DEFAULT_PATH = "resources/handranks.dat";
+
+    private static final int MAGIC = 0x484E4B37; // "HNK7"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private static final int CARDS = 7;
+    private static final int RANKS = 13;
+    private static final int FLUSH_ENTRIES = 1 << RANKS;
+
+    // OFFSET[(rank * 8 + cardsUsedSoFar) * 5 + countOfThisRank] - summed over all ranks gives the hash
+    private static final int[] OFFSET = new int[RANKS * (CARDS + 1) * 5];
+    private static final int HASH_ENTRIES;
+
+    static{
+        // ways[m][s] = number of ways m ranks can hold s cards (0..4 of each)
+        int[][] ways = new int[RANKS + 1][CARDS + 1];
+        ways[0][0] = 1;
+        for(int m = 1; m <= RANKS; m++){
+            for(int s = 0; s <= CARDS; s++){
+                for(int c = 0; c <= 4 && c <= s; c++){
+                    ways[m][s] += ways[m - 1][s - c];
+                }
+            }
+        }
+        for(int r = 0; r < RANKS; r++){
+            int ranksLeft = RANKS - 1 - r;
+            for(int used = 0; used <= CARDS; used++){
+                int offset = 0;
+                for(int c = 0; c < 5; c++){
+                    OFFSET[(r * (CARDS + 1) + used) * 5 + c] = offset;
+                    int left = CARDS - used - c;
+                    if(left >= 0){
+                        offset += ways[ranksLeft][left];
+                    }
+                }
+            }
+        }
+        HASH_ENTRIES = ways[RANKS][CARDS];
+    }
+
+    private final IntBuffer flushTable;
+    private final IntBuffer rankTable;
+
+    private RankTable(MappedByteBuffer map){
+        map.position(HEADER_BYTES);
+        IntBuffer ints = map.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        ints.limit(FLUSH_ENTRIES);
+        this.flushTable = ints.slice();
+        ints.limit(FLUSH_ENTRIES + HASH_ENTRIES).position(FLUSH_ENTRIES);
+        this.rankTable = ints.slice();
+    }
+
+    /**
+     * Loads the table from the default path (or the holdem.rankTable system property).
+     * Returns null if the file is missing or invalid, so callers fall back to HandEvaluator.
+     */
+    public static RankTable loadDefault(){
+        String path = System.getProperty("holdem.rankTable", DEFAULT_PATH);
+        if(path.isEmpty() || path.equalsIgnoreCase("off")){
+            return null;
+        }
+        try{
+            return load(Paths.get(path));
+        } catch(IOException e){
+            return null;
+        }
+    }
+
+    /**
+     * Maps an existing table file
+     * @throws IOException if the file is missing, truncated or from another version
+     */
+    public static RankTable load(Path file) throws IOException{
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+            long expected = HEADER_BYTES + 4L * (FLUSH_ENTRIES + HASH_ENTRIES);
+            if(channel.size() != expected){
+                throw new IOException("Unexpected rank table size: " + channel.size());
+            }
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if(map.getInt(0) != MAGIC || map.getInt(4) != VERSION
+                    || map.getInt(8) != FLUSH_ENTRIES || map.getInt(12) != HASH_ENTRIES){
+                throw new IOException("Not a rank table: " + file);
+            }
+            // mapping stays valid after the channel is closed
+            return new RankTable(map);
+        }
+    }
+
+    /**
+     * Strength of exactly 7 cards given as a HandEvaluator mask
+     */
+    public int strength(long cards){
+        int s0 = (int)(cards & 0x1FFF);
+        int s1 = (int)((cards >>> 13) & 0x1FFF);
+        int s2 = (int)((cards >>> 26) & 0x1FFF);
+        int s3 = (int)((cards >>> 39) & 0x1FFF);
+
+        if(Integer.bitCount(s0) >= 5) return flushTable.get(s0);
+        if(Integer.bitCount(s1) >= 5) return flushTable.get(s1);
+        if(Integer.bitCount(s2) >= 5) return flushTable.get(s2);
+        if(Integer.bitCount(s3) >= 5) return flushTable.get(s3);
+
+        return rankTable.get(hash(s0, s1, s2, s3));
+    }
+
+    /**
+     * Perfect hash of the rank counts held across the four suits
+     */
+    private static int hash(int s0, int s1, int s2, int s3){
+        int hash = 0;
+        int used = 0;
+        // only held ranks contribute - a zero count adds no offset
+        int ranks = s0 | s1 | s2 | s3;
+        while(ranks != 0){
+            int r = Integer.numberOfTrailingZeros(ranks);
+            ranks &= ranks - 1;
+            int count = ((s0 >>> r) & 1) + ((s1 >>> r) & 1) + ((s2 >>> r) & 1) + ((s3 >>> r) & 1);
+            hash += OFFSET[(r * (CARDS + 1) + used) * 5 + count];
+            used += count;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes every table entry with HandEvaluator and writes the file
+     */
+    public static void generate(Path file) throws IOException{
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + 4 * (FLUSH_ENTRIES + HASH_ENTRIES));
+        buf.order(ByteOrder.LITTLE_ENDIAN); // native order on x86/ARM, so reads need no byte swap
+        buf.putInt(MAGIC).putInt(VERSION).putInt(FLUSH_ENTRIES).putInt(HASH_ENTRIES);
+
+        for(int ranks = 0; ranks < FLUSH_ENTRIES; ranks++){
+            buf.putInt(Integer.bitCount(ranks) >= 5 ? HandEvaluator.strength(ranks, 0, 0, 0) : 0);
+        }
+
+        int[] rankStrengths = new int[HASH_ENTRIES];
+        fillRankStrengths(new int[RANKS], 0, 0, rankStrengths);
+        for(int strength : rankStrengths){
+            buf.putInt(strength);
+        }
+
+        buf.flip();
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null){
+            Files.createDirectories(parent);
+        }
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)){
+            while(buf.hasRemaining()){
+                channel.write(buf);
+            }
+        }
+    }
+
+    /**
+     * Walks every rank-count combination of 7 cards and stores its non-flush strength
+     */
+    private static void fillRankStrengths(int[] counts, int rank, int used, int[] out){
+        if(rank == RANKS){
+            if(used != CARDS) return;
+            // spread copies round-robin over the suits so no suit reaches five cards
+            int[] suits = new int[4];
+            int next = 0;
+            for(int r = 0; r < RANKS; r++){
+                for(int c = 0; c < counts[r]; c++){
+                    suits[next] |= 1 << r;
+                    next = (next + 1) % 4;
+                }
+            }
+            out[hash(suits[0], suits[1], suits[2], suits[3])] =
+                    HandEvaluator.strength(suits[0], suits[1], suits[2], suits[3]);
+            return;
+        }
+        for(int c = 0; c <= 4 && used + c <= CARDS; c++){
+            counts[rank] = c;
+            fillRankStrengths(counts, rank + 1, used + c, out);
+        }
+        counts[rank] = 0;
+    }
+
+    public static void main(String[] args) throws IOException{
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_PATH);
+        generate(file);
+        System.out.println("Wrote rank table to " + file.toAbsolutePath());
+    }
+}
@@ -15,6 +15,8 @@ public class Table{
     private int smallBlind = 10;
     private int bigBlind = 20;
     private String winnerText = "";
+    // bit i set = seat i's hole cards are shown face up (cards themselves carry no visibility)
+    private long faceUpSeats = 0L;
 
     public Table(){
         players = new ArrayList<>();
@@ -89,6 +91,7 @@ public class Table{
     public void resetForNewHand(){
         pot = 0;
         currentBet = 0;
+        faceUpSeats = 0L;
         communityCards.clear();
         for(Player p : players){
             p.resetForNewHand();
@@ -121,14 +124,25 @@ public class Table{
         return count;
     }
     
+    /**
+     * Shows or hides the hole cards of the player in the given seat
+     */
+    public void setHandFaceUp(int seat, boolean faceUp){
+        if(faceUp){
+            faceUpSeats |= 1L << seat;
+        } else {
+            faceUpSeats &= ~(1L << seat);
+        }
+    }
+
+    public boolean isHandFaceUp(int seat){
+        return (faceUpSeats & (1L << seat)) != 0;
+    }
+
     public void showAllHands(){
-        for(Player p : players){
-            //for later gui implementation -- wont matter for now
-            for(Card c : p.getHand()){
-                if(!c.isFaceUp()){
-                    c.flip();
-                }
-            }
+        for(int i = 0; i < players.size(); i++){
+            Player p = players.get(i);
+            setHandFaceUp(i, true);
             System.out.println(p.getName() + "'s hand: " + p.getHand());
         }
     }
@@ -0,0 +1,63 @@
+package game;
+
+import players.Player;
+
+/**
+ * What step-driven play is waiting for: the phase of the hand and, while betting,
+ * the seat to act and its legal actions. Returned by GameEngine.currentState().
+ *
+ * The engine updates one instance in place after every step, so read it
+ * before the next apply() and don't keep it.
+ */
+public final class TurnState{
+    private final LegalActions legal;
+    private PHASE phase = PHASE.WAITING;
+    private int seat = -1;
+    private Player player;
+
+    TurnState(LegalActions legal){
+        this.legal = legal;
+    }
+
+    void set(PHASE phase, int seat, Player player){
+        this.phase = phase;
+        this.seat = seat;
+        this.player = player;
+    }
+
+    public PHASE getPhase(){
+        return phase;
+    }
+
+    /**
+     * True when a player has to act (apply() expects a betting decision)
+     */
+    public boolean isAwaitingAction(){
+        return player != null;
+    }
+
+    public boolean isHandOver(){
+        return phase == PHASE.HAND_OVER;
+    }
+
+    /**
+     * Seat index in table.getPlayers() of the player to act, or -1
+     */
+    public int getSeat(){
+        return seat;
+    }
+
+    /**
+     * Player to act, or null when nobody is
+     */
+    public Player getPlayer(){
+        return player;
+    }
+
+    /**
+     * Legal actions of the player to act; only meaningful while isAwaitingAction()
+     */
+    public LegalActions getLegalActions(){
+        return legal;
+    }
+}
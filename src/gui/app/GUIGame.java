@@ -8,23 +8,38 @@ import gui.view.*;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.*;
 import players.Player;
+import sim.RandomDecider;
 /**
  * Top-level swing window containing the poker table GUI.
  * Initializes:
  *  -Swing frame
- *  -TablePanel (visual layout for players + board)
+ *  -TableView: TablePanel (visual layout for players + board), or the custom-painted
+ *   TableCanvas with -Dholdem.view=canvas
  *  -the GameEngine (logic)
  * 
  * GameEngine is responsible for pushing state updates into the GUI
+ *
+ * With more than one table chosen in the setup dialog, the window instead shows a TableGrid:
+ * one TableCanvas, ActionPanel and GameEngine per table, the clicked table drawn at full rate
+ * and the rest at -Dholdem.backgroundFps (default 5).
+ *
+ * With "Bots only" every seat is played by a RandomDecider and the buttons are replaced by a
+ * SpeedPanel: 1x and 10x pace the engine, Max runs it flat out and shows the latest state per frame.
  */
 public class GUIGame extends JFrame{
-    private final TablePanel tablePanel;
+    private final TableView tableView;
     private final ActionPanel actionPanel;
     private final GameEngine engine;
+    private final GUIListener guiListener;
     private int startingChips = 1000;
     private int numberOfPlayers = 4;
+    //bot games: hands played on all tables and tables still playing, shown by the SpeedPanel
+    private final AtomicLong handsPlayed = new AtomicLong();
+    private final AtomicInteger tablesPlaying = new AtomicInteger();
 
     public GUIGame(){
         //configure window
@@ -34,20 +49,22 @@ public class GUIGame extends JFrame{
         setLocationRelativeTo(null);
         setLayout(new BorderLayout());
 
-        //load card images
-        CardImageLoader.loadAllCards();
+        //load card images in the background while the setup dialog is open
+        CardImageLoader.loadAllCardsAsync();
 
         //initialize panels
-        tablePanel = new TablePanel();
+        tableView = "canvas".equalsIgnoreCase(System.getProperty("holdem.view"))
+                ? new TableCanvas()
+                : new TablePanel();
         actionPanel = new ActionPanel();
         
-        add(tablePanel, BorderLayout.CENTER);
+        add(tableView.getComponent(), BorderLayout.CENTER);
         add(actionPanel, BorderLayout.SOUTH);
 
         //initialize game engine
         engine = new GameEngine();
         
-        GUIListener guiListener = new GUIListener(tablePanel, actionPanel, engine);
+        guiListener = new GUIListener(tableView, actionPanel, engine);
         engine.setListener(guiListener);
     }
 
@@ -64,19 +81,100 @@ public class GUIGame extends JFrame{
         // Store game settings
         startingChips = setup.startingChips;
         numberOfPlayers = setup.numberOfPlayers;
+        if (setup.numberOfTables > 1) {
+            startTables(setup.numberOfTables, setup.botsOnly);
+            return;
+        }
         
         // Configure engine with settings
         engine.setStartingChips(startingChips);
         engine.setNumberOfPlayers(numberOfPlayers);
+        if (setup.botsOnly) {
+            remove(actionPanel);
+            add(speedPanel(List.of(guiListener)), BorderLayout.SOUTH);
+        }
         
         setVisible(true);
         
         // Start game thread
+        startTable(engine, guiListener, setup.botsOnly, "table-1");
+    }
+
+    /**
+     * Game thread of one table: pass and play, or a bot game run until one player has all the chips
+     */
+    private void startTable(GameEngine tableEngine, GUIListener listener, boolean bots, String name) {
+        if (bots) {
+            tableEngine.setDecider(new RandomDecider(System.nanoTime()));
+            tableEngine.setVerbose(false);
+            tableEngine.addObserver(new GameObserver() {
+                @Override
+                public void onHandStarted(int dealerSeat) {
+                    handsPlayed.incrementAndGet();
+                }
+            });
+            listener.setSpeed(1);
+            tablesPlaying.incrementAndGet();
+        }
         Thread gameThread = new Thread(() -> {
-            while (true){engine.startPassAndPlayHand();}
-        });
+            CardImageLoader.loadAllCardsAsync().join(); // no cards are shown before the images are ready
+            if (bots) {
+                tableEngine.runHeadless(Integer.MAX_VALUE);
+                tablesPlaying.decrementAndGet();
+            } else {
+                while (true){tableEngine.startPassAndPlayHand();}
+            }
+        }, name);
         gameThread.start();
     }
+
+    /**
+     * Speed slider driving every listener of a bot game, with the hands played so far
+     */
+    private SpeedPanel speedPanel(List<GUIListener> listeners) {
+        SpeedPanel panel = new SpeedPanel(GUIListener.MAX_SPEED, speed -> {
+            for (GUIListener l : listeners) l.setSpeed(speed);
+        });
+        // polled rather than pushed per hand, so Max speed doesn't flood the EDT
+        new Timer(250, e -> panel.setStatus(handsPlayed.get() + " hands"
+                + (tablesPlaying.get() == 0 && handsPlayed.get() > 0 ? " - game over" : ""))).start();
+        return panel;
+    }
+
+    /**
+     * Replaces the single table with a grid of tables, each played by its own engine and thread
+     */
+    private void startTables(int tables, boolean bots) {
+        getContentPane().removeAll();
+        TableGrid grid = new TableGrid(tables);
+        grid.setBackgroundFrameRate(Integer.getInteger("holdem.backgroundFps",
+                TableGrid.DEFAULT_BACKGROUND_FRAMES_PER_SECOND));
+
+        List<GameEngine> engines = new ArrayList<>();
+        List<GUIListener> listeners = new ArrayList<>();
+        for (int i = 0; i < tables; i++) {
+            GameEngine tableEngine = new GameEngine();
+            tableEngine.setStartingChips(startingChips);
+            tableEngine.setNumberOfPlayers(numberOfPlayers);
+            tableEngine.setVerbose(false); // sixteen tables of console output help nobody
+
+            TableCanvas view = new TableCanvas();
+            ActionPanel actions = new ActionPanel();
+            GUIListener listener = new GUIListener(view, actions, tableEngine);
+            tableEngine.setListener(listener);
+            grid.addTable(view, bots ? null : actions);
+            engines.add(tableEngine);
+            listeners.add(listener);
+        }
+        grid.focus(0);
+        add(grid, BorderLayout.CENTER);
+        if (bots) add(speedPanel(listeners), BorderLayout.SOUTH);
+        setVisible(true);
+
+        for (int i = 0; i < tables; i++) {
+            startTable(engines.get(i), listeners.get(i), bots, "table-" + (i + 1));
+        }
+    }
     
     /**
      * Helper to convert the current GameEngine / Table state into
@@ -3,71 +3,286 @@ package gui.integration;
 import cards.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 
 /**
- * Loads card images directly from the file system under ./resources/.
- * No classpath resources required.
+ * Loads the card images from the classpath (inside hwx.jar: /Cards/Classic/c01.png ...,
+ * /Backs/back.png), falling back to ./resources/ when running from unpacked classes.
+ * Resource names match the files exactly, so loading does not depend on a case-insensitive file system.
+ *
+ * The 53 PNGs are decoded in parallel off the EDT and scaled right away into compatible
+ * BufferedImages, so the first paint doesn't pay for scaling.
+ * The scaled sprites are then saved as raw pixels to a cache file per size
+ * (~/.holdem/cache/cards-160x240.bin, or the holdem.cardCache system property; "off" disables it).
+ * Later launches map that file and skip decoding entirely; delete it after changing the images.
+ *
+ * Those 160x240 masters stay in memory and any other size (HiDPI, resized windows, table tiles)
+ * is scaled from them on first use, then kept in a SpriteCache: an LRU keyed by card index and
+ * size, capped at CACHE_BYTES of pixels, whose lookups allocate nothing.
  */
 public class CardImageLoader {
-    private static final String IMAGE_DIR = "resources/Cards/Classic/"; 
-    private static final String BACK_DIR = "resources/Backs/back.png"; 
+    private static final String IMAGE_DIR = "Cards/Classic/";
+    private static final String BACK_PATH = "Backs/back.png";
+    private static final String FILE_ROOT = "resources/";
 
-    private static final int CARD_WIDTH = 80;
-    private static final int CARD_HEIGHT = 120;
+    public static final int CARD_WIDTH = 80;
+    public static final int CARD_HEIGHT = 120;
+    // kept for scaling to other sizes; 2x the default covers HiDPI screens
+    private static final int MASTER_WIDTH = 2 * CARD_WIDTH;
+    private static final int MASTER_HEIGHT = 2 * CARD_HEIGHT;
+    // scaled sizes kept at once
+    private static final int CACHE_ENTRIES = 1024;
+    private static final long CACHE_BYTES = 32L << 20;
+
+    // sprite cache file: header, then width * height ARGB ints per image (52 cards by index, then the back)
+    private static final int MAGIC = 0x44524348; // "HCRD"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int BACK = 52;
+    private static final int IMAGES = 53;
+
+    public static final int BACK_INDEX = BACK;
+
+    private static final BufferedImage[] masters = new BufferedImage[IMAGES];
+    private static final SpriteCache sprites = new SpriteCache(CACHE_ENTRIES, CACHE_BYTES);
+    // default-size icons for CardPanel
+    private static final ImageIcon[] icons = new ImageIcon[IMAGES];
+    private static CompletableFuture<Void> loading;
+
+    /**
+     * Starts loading on a background thread, once; later calls return the same future
+     */
+    public static synchronized CompletableFuture<Void> loadAllCardsAsync() {
+        if (loading == null) {
+            loading = CompletableFuture.runAsync(CardImageLoader::loadAllCards);
+        }
+        return loading;
+    }
 
-    private static final Map<String, ImageIcon> cardImageCache = new HashMap<>();
-    private static ImageIcon backImage;
     /**
-     * Loads all card images into memory and scales them.
+     * Loads all card images into memory, from the sprite cache if present.
+     * Blocks until done; use loadAllCardsAsync() from the EDT.
      */
     public static void loadAllCards() {
-        System.out.println("Loading card images...");
-
-        for(SUIT s : SUIT.values()){
-            for(VALUE v : VALUE.values()){
-                String code = suitToPrefix(s) + valueToNumber(v);
-                String filename = code + ".png";
-
-                ImageIcon icon = loadAndScale(IMAGE_DIR + filename);
-                if(icon != null){
-                    cardImageCache.put(code, icon);
-                } else {
-                    System.err.println("Failed to load image for " + code);
-                }
+        long start = System.nanoTime();
+        Path cache = cacheFile(MASTER_WIDTH, MASTER_HEIGHT);
+        BufferedImage[] loadedMasters = cache != null ? readCache(cache, MASTER_WIDTH, MASTER_HEIGHT) : null;
+        boolean fromCache = loadedMasters != null;
+        if (!fromCache) {
+            BufferedImage[] decoded = new BufferedImage[IMAGES];
+            IntStream.range(0, IMAGES).parallel().forEach(i -> decoded[i] = loadAndScale(resourceName(i)));
+            loadedMasters = decoded;
+            if (cache != null) writeCache(cache, loadedMasters);
+        }
+
+        int loaded = 0;
+        for (int i = 0; i < IMAGES; i++) {
+            if (loadedMasters[i] != null) {
+                masters[i] = loadedMasters[i];
+                icons[i] = new ImageIcon(getImage(i, CARD_WIDTH, CARD_HEIGHT));
+                loaded++;
+            } else {
+                System.err.println("Failed to load image " + resourceName(i));
             }
         }
-        backImage = loadAndScale(BACK_DIR);
-        System.out.println("Loaded " + cardImageCache.size() + " card images.");
+        System.out.println("Loaded " + loaded + " card images" + (fromCache ? " from cache" : "")
+                + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
     }
+
     /**
-     * Loads and scales an image from the given path.
+     * Decodes an image and scales it to card size now rather than at first paint.
      */
-    private static ImageIcon loadAndScale(String path){
-        try{
-            BufferedImage img = ImageIO.read(new File(path));
-            if(img == null) return null;
-            Image scaled = img.getScaledInstance(
-                 CARD_WIDTH, CARD_HEIGHT, Image.SCALE_SMOOTH);
-            return new ImageIcon(scaled);
-        } catch(Exception e){
+    private static BufferedImage loadAndScale(String name){
+        try (InputStream in = open(name)) {
+            if (in == null) return null;
+            BufferedImage img = ImageIO.read(in);
+            if (img == null) return null;
+            return scale(img, MASTER_WIDTH, MASTER_HEIGHT);
+        } catch (IOException e) {
             e.printStackTrace();
             return null;
         }
     }
+
+    /**
+     * Classpath first (jar or class folder with resources), then the resources folder
+     */
+    private static InputStream open(String name) throws IOException {
+        URL url = CardImageLoader.class.getResource("/" + name);
+        if (url != null) return url.openStream();
+        File file = new File(FILE_ROOT + name);
+        return file.isFile() ? Files.newInputStream(file.toPath()) : null;
+    }
+
+    /**
+     * Smooth downscale: halves with bilinear filtering until within 2x of the target, then one last step.
+     * Gives SCALE_SMOOTH quality at a fraction of the cost. Sizes above the source are one bilinear step.
+     */
+    private static BufferedImage scale(BufferedImage src, int width, int height) {
+        BufferedImage img = src;
+        int w = src.getWidth();
+        int h = src.getHeight();
+        do {
+            w = Math.max(width, w > width * 2 ? w / 2 : width);
+            h = Math.max(height, h > height * 2 ? h / 2 : height);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(img, 0, 0, w, h, null);
+            g.dispose();
+            img = step;
+        } while (w != width || h != height);
+        return img;
+    }
+
+    /**
+     * Copy in the screen's native format, so drawing it is a plain blit
+     */
+    private static BufferedImage toCompatible(BufferedImage img) {
+        if (GraphicsEnvironment.isHeadless()) return img;
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        if (img.getColorModel().equals(gc.getColorModel())) return img;
+        BufferedImage out = gc.createCompatibleImage(img.getWidth(), img.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = out.createGraphics();
+        g.drawImage(img, 0, 0, null);
+        g.dispose();
+        return out;
+    }
+
+    /**
+     * Cache file for one sprite size, or null if caching is off
+     */
+    private static Path cacheFile(int width, int height) {
+        String dir = System.getProperty("holdem.cardCache",
+                Paths.get(System.getProperty("user.home"), ".holdem", "cache").toString());
+        if (dir.isEmpty() || dir.equalsIgnoreCase("off")) return null;
+        return Paths.get(dir, "cards-" + width + "x" + height + ".bin");
+    }
+
+    /**
+     * Maps a sprite cache file; null if it is missing, truncated or for another size
+     */
+    private static BufferedImage[] readCache(Path file, int width, int height) {
+        long expected = HEADER_BYTES + 4L * width * height * IMAGES;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != expected) return null;
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, 0, expected);
+            map.order(ByteOrder.LITTLE_ENDIAN);
+            if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION
+                    || map.getInt(8) != width || map.getInt(12) != height) {
+                return null;
+            }
+            map.position(HEADER_BYTES);
+            IntBuffer pixels = map.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            BufferedImage[] sprites = new BufferedImage[IMAGES];
+            for (int i = 0; i < IMAGES; i++) {
+                BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+                pixels.get(((DataBufferInt) img.getRaster().getDataBuffer()).getData());
+                sprites[i] = img;
+            }
+            return sprites;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Saves the sprites for the next launch; skipped if any image failed to load.
+     * Written to a temporary file first so a crash never leaves a half-written cache.
+     */
+    private static void writeCache(Path file, BufferedImage[] sprites) {
+        for (BufferedImage img : sprites) {
+            if (img == null) return;
+        }
+        int width = sprites[0].getWidth();
+        int height = sprites[0].getHeight();
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + 4 * width * height * IMAGES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height);
+        IntBuffer pixels = buf.asIntBuffer();
+        for (BufferedImage img : sprites) {
+            pixels.put(((DataBufferInt) img.getRaster().getDataBuffer()).getData());
+        }
+        buf.rewind(); // header included
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "cards", ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (buf.hasRemaining()) channel.write(buf);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write card cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resource name of image i: cards by Card.getIndex(), then the back
+     */
+    private static String resourceName(int i) {
+        if (i == BACK) return BACK_PATH;
+        Card card = Card.of(i);
+        return IMAGE_DIR + suitToPrefix(card.getSuit()) + valueToNumber(card.getValue()) + ".png";
+    }
+
     /*
-    * Retrieves the image icon for the given card.
+    * Retrieves the image icon for the given card at the default size, or null until loading has finished.
     */
     public static ImageIcon getCardImage(Card card) {
-        String code = suitToPrefix(card.getSuit()) + valueToNumber(card.getValue());
-        return cardImageCache.get(code);
+        return icons[card.getIndex()];
     }
     public static ImageIcon getBackImage(){
-        return backImage;
+        return icons[BACK];
+    }
+
+    /**
+     * The card's image at any size, scaled on first use and then served from the LRU
+     * @return null until loading has finished
+     */
+    public static BufferedImage getCardImage(Card card, int width, int height) {
+        return getImage(card.getIndex(), width, height);
+    }
+
+    public static BufferedImage getBackImage(int width, int height) {
+        return getImage(BACK, width, height);
+    }
+
+    /**
+     * Image by index (Card.getIndex(), or BACK_INDEX) at the given size
+     * @return null until loading has finished
+     */
+    public static BufferedImage getImage(int index, int width, int height) {
+        long key = SpriteCache.key(index, width, height);
+        BufferedImage img = sprites.get(key);
+        if (img == null) {
+            BufferedImage master = masters[index];
+            if (master == null) return null;
+            img = width == MASTER_WIDTH && height == MASTER_HEIGHT
+                    ? toCompatible(master)
+                    : toCompatible(scale(master, width, height));
+            sprites.put(key, img);
+        }
+        return img;
     }
     /**
      * Helper to convert suit to prefix used in filenames.
@@ -1,39 +1,64 @@
 package gui.integration;
 
 import cards.Card;
+import game.ACTION;
 import game.CheckHand;
+import game.Decision;
 import game.GameEngine;
 import game.HAND_WEIGHT;
+import game.LegalActions;
 import gui.view.*;
 import players.Player;
 
 import java.util.List;
+import java.util.function.Supplier;
 /**
  * GUIListener implements GameListener to update the GUI based on game state changes
  * and to handle user actions during betting rounds.
- * It communicates with TablePanel to update the display and ActionPanel
+ * It communicates with a TableView (TablePanel or TableCanvas) to update the display and ActionPanel
  * to get user input.
+ *
+ * The displayed TableState is kept here and patched by the engine's deltas
+ * (bet, card dealt, pot, turn); a full snapshot is only taken at the start of a hand.
+ * A delta only marks the view changed; it is copied once per drawn frame (see publish).
+ *
+ * For bot games setSpeed() paces the engine: 1x and 10x wait before each action so the game
+ * can be followed, MAX_SPEED never waits.
  */
 public class GUIListener implements GameListener {
-    private final TablePanel tablePanel;
+    private final TableView tableView;
     private final ActionPanel actionPanel;
     private final CheckHand handChecker;
     private final GameEngine engine; 
+    //what the table currently shows, patched in place by each event (engine thread)
+    //and copied for drawing (EDT), both under viewLock
+    private final Object viewLock = new Object();
+    private final Supplier<TablePanel.TableState> frameSource = this::copyView;
+    private TablePanel.TableState view = new TablePanel.TableState();
+    private TablePanel.PlayerState[] seats = new TablePanel.PlayerState[0];
+    private int turnSeat = -1;
+
+    /** Watching speeds: 1x waits ACTION_DELAY_MS before each action and HAND_OVER_DELAY_MS on the result, 10x a tenth */
+    public static final int MAX_SPEED = Integer.MAX_VALUE;
+    private static final long ACTION_DELAY_MS = 500;
+    private static final long HAND_OVER_DELAY_MS = 2000;
+    // 0 for interactive play: no pacing
+    private volatile int speed = 0;
 
     /** This variable stores the result returned when user clicks a betting button */
-    private volatile String pendingAction = null;
+    private volatile Decision pendingAction = null;
 
     // Lock for synchronization between game thread and EDT
     private final Object actionLock = new Object();
 
-    public GUIListener(TablePanel tablePanel, ActionPanel actionPanel, GameEngine engine) {
-        this.tablePanel = tablePanel;
+    public GUIListener(TableView tableView, ActionPanel actionPanel, GameEngine engine) {
+        this.tableView = tableView;
         this.actionPanel = actionPanel;
         this.engine = engine;
         this.handChecker = new CheckHand();
 
         actionPanel.setActionConsumer(action -> {
-            if ("NEXT_HAND".equals(action)) {
+            if (action.getAction() == ACTION.NEXT_HAND) {
                 // User clicked "Next Hand" at showdown:
                 // 1) wake the game thread (waiting in waitForNextHand)
                 // 2) hide the button
@@ -55,8 +80,166 @@ public class GUIListener implements GameListener {
     
     @Override
     public void onStateUpdated(GameState state) {
-        // Update table display
-        tablePanel.applyTableState(convertState(state));
+        // Full resync
+        TablePanel.TableState ts = convertState(state);
+        synchronized (viewLock) {
+            setView(ts);
+        }
+        publish();
+    }
+
+    @Override
+    public void onHandStarted(int dealerSeat) {
+        TablePanel.TableState ts = convertState(engine.snapshot());
+        synchronized (viewLock) {
+            setView(ts);
+        }
+        publish();
+    }
+
+    @Override
+    public void onBet(int seat, int amount, int chips, int roundBet) {
+        synchronized (viewLock) {
+            seats[seat].chips = chips;
+        }
+        publish();
+    }
+
+    @Override
+    public void onHoleCards(int seat, Card first, Card second) {
+        synchronized (viewLock) {
+            seats[seat].hole1 = first;
+            seats[seat].hole2 = second;
+            // dealt face down; onTurn shows them to their owner
+            seats[seat].cardsFaceUp = seat == turnSeat;
+            updateRanking(seats[seat], view.communityCards);
+        }
+        publish();
+    }
+
+    @Override
+    public void onBoardCard(int position, Card card) {
+        synchronized (viewLock) {
+            view.communityCards.add(card);
+            for (TablePanel.PlayerState ps : seats) {
+                updateRanking(ps, view.communityCards);
+            }
+        }
+        publish();
+    }
+
+    @Override
+    public void onPotChanged(int pot) {
+        synchronized (viewLock) {
+            view.pot = pot;
+        }
+        publish();
+    }
+
+    @Override
+    public void onTurn(int seat) {
+        if (seat >= 0) pace(ACTION_DELAY_MS);
+        synchronized (viewLock) {
+            // pass and play: only the player to act sees their cards
+            if (turnSeat >= 0) {
+                seats[turnSeat].active = false;
+                seats[turnSeat].cardsFaceUp = false;
+                updateRanking(seats[turnSeat], view.communityCards);
+            }
+            turnSeat = seat;
+            if (seat >= 0) {
+                seats[seat].active = true;
+                seats[seat].cardsFaceUp = true;
+                updateRanking(seats[seat], view.communityCards);
+            }
+        }
+        publish();
+    }
+
+    @Override
+    public void onAward(int seat, int amount, int chips) {
+        synchronized (viewLock) {
+            seats[seat].chips = chips;
+        }
+        publish();
+    }
+
+    @Override
+    public void onHandOver(String winnerText) {
+        synchronized (viewLock) {
+            turnSeat = -1;
+            for (TablePanel.PlayerState ps : seats) {
+                ps.active = false;
+                ps.cardsFaceUp = true;
+                updateRanking(ps, view.communityCards);
+            }
+            view.winnerText = winnerText;
+        }
+        publish();
+        pace(HAND_OVER_DELAY_MS); // bot games go straight on; leave the result up for a moment
+    }
+
+    /**
+     * Sets the speed of a bot game: 1, 10 or MAX_SPEED (0 for interactive play).
+     * Can be changed while the game runs.
+     */
+    public void setSpeed(int speed) {
+        this.speed = speed;
+    }
+
+    /**
+     * Tells the view the table changed. Nothing is copied here: the view pulls one copy
+     * (copyView) when it draws the next frame, however many events came in before it.
+     */
+    private void publish() {
+        tableView.invalidate(frameSource);
+    }
+
+    /**
+     * The state to draw, copied on the EDT while the engine thread is kept from patching it
+     */
+    private TablePanel.TableState copyView() {
+        synchronized (viewLock) {
+            return view.copy();
+        }
+    }
+
+    /**
+     * Holds the engine thread so the game runs at the chosen speed
+     * @param delayMs pause at 1x
+     */
+    private void pace(long delayMs) {
+        int s = speed;
+        if (s <= 0 || s == MAX_SPEED) return;
+        try {
+            Thread.sleep(delayMs / s);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replaces the view; caller holds viewLock
+     */
+    private void setView(TablePanel.TableState ts) {
+        view = ts;
+        seats = ts.players.toArray(new TablePanel.PlayerState[0]);
+        turnSeat = -1;
+        for (TablePanel.PlayerState ps : seats) {
+            if (ps.active) turnSeat = ps.seatIndex;
+        }
+    }
+
+    /**
+     * Hand ranking is shown for face-up cards once there is a board
+     */
+    private void updateRanking(TablePanel.PlayerState ps, List<Card> board) {
+        if (ps.cardsFaceUp && ps.hole1 != null && ps.hole2 != null && !board.isEmpty()) {
+            HAND_WEIGHT handRanking = handChecker.checkWeight(List.of(ps.hole1, ps.hole2), board);
+            ps.handRanking = formatHandRanking(handRanking);
+        } else {
+            ps.handRanking = "";
+        }
     }
 
     private TablePanel.TableState convertState(GameState gs) {
@@ -72,20 +255,14 @@ public class GUIListener implements GameListener {
             pstate.cardsFaceUp = ps.faceUp;
             pstate.active = ps.active;
             
-            // Calculate and set hand ranking if cards are visible and community cards exist
-            if (ps.faceUp && ps.hole1 != null && ps.hole2 != null && !gs.communityCards.isEmpty()) {
-                List<Card> playerCards = List.of(ps.hole1, ps.hole2);
-                HAND_WEIGHT handRanking = handChecker.checkWeight(playerCards, gs.communityCards);
-                pstate.handRanking = formatHandRanking(handRanking);
-            } else {
-                pstate.handRanking = "";
-            }
-
             ts.players.add(pstate);
         }
         // winner + dealer
         ts.winnerText = gs.winnerText;
         ts.communityCards = gs.communityCards;
+        for (TablePanel.PlayerState pstate : ts.players) {
+            updateRanking(pstate, ts.communityCards);
+        }
         ts.pot = gs.pot;
         ts.dealerSeat = gs.dealerSeat;
         return ts;
@@ -125,15 +302,16 @@ public class GUIListener implements GameListener {
      *  Requests player action during their betting turn
      * @return The action chosen by the player (FOLD, CHECK, CALL, RAISE, ALL_IN)
      * @param player The player whose turn it is to act
+     * @param legal What the player may do; only the matching buttons are enabled
      */
     @Override
-    public String requestPlayerAction(Player player) {
+    public Decision requestPlayerAction(Player player, LegalActions legal) {
         // Normal betting turn:
         // hide Next Hand button (should not be clickable mid-hand)
         actionPanel.hideNextHandButton();
-        actionPanel.enableForPlayer(player);
+        actionPanel.enableForPlayer(player, legal);
 
-        String result;
+        Decision result;
         synchronized (actionLock) {
             pendingAction = null;
 
@@ -1,21 +1,25 @@
 package gui.integration;
 
+import game.Decision;
+import game.LegalActions;
 import gui.view.*;
 import players.Player;
 
 /**
  *GameListener is the communication layer between GameEngine and GUI. 
  * 1. GameEngine -> GUI:
- *  - notify about game state changes with onStateUpdated(GameState)
+ *  - notify about each change through the GameObserver callbacks (bet, card dealt, pot, turn)
+ *  - a full GameState with onStateUpdated(GameState) only when waiting for Next Hand;
+ *    GameEngine.snapshot() gives one on demand
  * 
  * 2. GUI -> GameEngine:
- *  - send player actions with onPlayerAction(PlayerAction)
+ *  - return typed player decisions from requestPlayerAction(Player, LegalActions)
  * 
  * The GUIListener class implements this interface.
  */
-public interface GameListener {
+public interface GameListener extends GameObserver {
     /**
-     * Called whenever the GameEngine has new state to display.
+     * Called with the full state once a hand is over and the engine waits for Next Hand.
      * @param state The fully-updated state to display.
      */
     void onStateUpdated(GameState state);
@@ -26,9 +30,10 @@ public interface GameListener {
     void onAwaitNextHand();
 
     /**
-     * Called whenever the GUI has a new player action to send to the GameEngine.
-     * @param action The player action to process.
-     * @return a string representing the chosen action: "CHECK", "CALL", "RAISE", "FOLD", "ALL_IN"
+     * Called whenever the GameEngine needs the next action from the GUI.
+     * @param player The player to act, or null when waiting for Next Hand.
+     * @param legal What the player may do (call amount, raise limits, check allowed), or null when waiting for Next Hand.
+     * @return the chosen Decision: FOLD, CHECK, CALL, Decision.raise(amount), ALL_IN or NEXT_HAND
      */
-    String requestPlayerAction(Player player);
+    Decision requestPlayerAction(Player player, LegalActions legal);
 }
@@ -0,0 +1,57 @@
+package gui.integration;
+
+import cards.Card;
+
+/**
+ * Delta channel from the GameEngine: one small call per change instead of a full
+ * GameState on every update. An observer keeps its own view and applies only what changed;
+ * when it needs the whole picture (on attach, at the start of a hand) it asks
+ * GameEngine.snapshot() for one.
+ *
+ * Seats are indexes into table.getPlayers(). Calls arrive on the engine thread, in order,
+ * and every method defaults to doing nothing so an observer overrides only what it shows.
+ * Several observers can watch one engine (see GameEngine.addObserver).
+ */
+public interface GameObserver {
+    /**
+     * A new hand begins: hands are reset, busted players sit out, before the blinds.
+     * The usual place to rebuild the view from GameEngine.snapshot().
+     */
+    default void onHandStarted(int dealerSeat){}
+
+    /**
+     * A player put chips in: blind, call, raise or all-in
+     * @param amount chips this bet added
+     * @param chips the player's stack afterwards
+     * @param roundBet the player's total bet in this betting round afterwards
+     */
+    default void onBet(int seat, int amount, int chips, int roundBet){}
+
+    default void onFold(int seat){}
+
+    default void onHoleCards(int seat, Card first, Card second){}
+
+    /**
+     * One community card was dealt
+     * @param position 0-4 on the board
+     */
+    default void onBoardCard(int position, Card card){}
+
+    default void onPotChanged(int pot){}
+
+    /**
+     * The turn moved to the given seat, or -1 when nobody is to act (between streets, hand over)
+     */
+    default void onTurn(int seat){}
+
+    /**
+     * A player won chips at the end of the hand
+     * @param chips the player's stack afterwards
+     */
+    default void onAward(int seat, int amount, int chips){}
+
+    /**
+     * The hand is settled; remaining hands are shown
+     */
+    default void onHandOver(String winnerText){}
+}
@@ -0,0 +1,173 @@
+package gui.integration;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Least-recently-used cache of scaled card images, bounded by total pixel memory.
+ *
+ * Keys are primitive longs packing image index, width and height (see key()), looked up in an
+ * open-addressing table, so a hit allocates nothing. Entries live in parallel arrays linked
+ * into a recency list; the least recently used ones are dropped once the byte budget or the
+ * entry limit is exceeded. Thread-safe; the lock is only held for the table work, never while scaling.
+ */
+final class SpriteCache{
+    private static final int NONE = -1;
+
+    private final long maxBytes;
+    private long bytes;
+    private int size;
+
+    //hash slot -> entry, NONE if free; linear probing
+    private final int[] table;
+    private final int shift;
+    //entries, linked most recently used first
+    private final long[] keys;
+    private final BufferedImage[] images;
+    private final int[] prev;
+    private final int[] next;
+    private int head = NONE;
+    private int tail = NONE;
+    private int free;   // free entries chained through next[]
+
+    /**
+     * @param maxEntries most images held at once
+     * @param maxBytes budget for the pixels of all held images (4 bytes per pixel)
+     */
+    SpriteCache(int maxEntries, long maxBytes){
+        this.maxBytes = maxBytes;
+        int slots = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) * 2; // load factor <= 0.5
+        this.table = new int[slots];
+        this.shift = 64 - Integer.numberOfTrailingZeros(slots);
+        Arrays.fill(table, NONE);
+        this.keys = new long[maxEntries];
+        this.images = new BufferedImage[maxEntries];
+        this.prev = new int[maxEntries];
+        this.next = new int[maxEntries];
+        for(int i = 0; i < maxEntries; i++){
+            next[i] = i + 1 < maxEntries ? i + 1 : NONE;
+        }
+        free = maxEntries > 0 ? 0 : NONE;
+    }
+
+    /**
+     * Cache key of one image at one size (index < 2^23, width and height < 2^20)
+     */
+    static long key(int image, int width, int height){
+        return (long)image << 40 | (long)width << 20 | height;
+    }
+
+    /**
+     * The cached image, now the most recently used, or null
+     */
+    synchronized BufferedImage get(long key){
+        int slot = find(key);
+        int e = table[slot];
+        if(e == NONE) return null;
+        moveToFront(e);
+        return images[e];
+    }
+
+    /**
+     * Adds or replaces an image, evicting least recently used ones to stay within the limits.
+     * An image larger than the whole budget is not kept.
+     */
+    synchronized void put(long key, BufferedImage image){
+        long imageBytes = bytesOf(image);
+        if(imageBytes > maxBytes) return;
+        int slot = find(key);
+        int e = table[slot];
+        if(e != NONE){
+            bytes += imageBytes - bytesOf(images[e]);
+            images[e] = image;
+            moveToFront(e);
+        } else {
+            if(free == NONE){
+                evict(tail);
+                slot = find(key); // the table may have shifted
+            }
+            e = free;
+            free = next[e];
+            keys[e] = key;
+            images[e] = image;
+            table[slot] = e;
+            link(e);
+            bytes += imageBytes;
+            size++;
+        }
+        while(bytes > maxBytes && tail != e){
+            evict(tail);
+        }
+    }
+
+    synchronized int size(){
+        return size;
+    }
+
+    synchronized long bytes(){
+        return bytes;
+    }
+
+    private static long bytesOf(BufferedImage image){
+        return 4L * image.getWidth() * image.getHeight();
+    }
+
+    private int home(long key){
+        return (int)((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Slot holding key, or the free slot where it would go
+     */
+    private int find(long key){
+        int mask = table.length - 1;
+        int slot = home(key);
+        while(table[slot] != NONE && keys[table[slot]] != key){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void evict(int e){
+        int mask = table.length - 1;
+        int hole = find(keys[e]);
+        // backward-shift deletion keeps every probe chain unbroken
+        int j = (hole + 1) & mask;
+        while(table[j] != NONE){
+            int h = home(keys[table[j]]);
+            boolean movable = hole <= j ? (h <= hole || h > j) : (h <= hole && h > j);
+            if(movable){
+                table[hole] = table[j];
+                hole = j;
+            }
+            j = (j + 1) & mask;
+        }
+        table[hole] = NONE;
+
+        unlink(e);
+        bytes -= bytesOf(images[e]);
+        images[e] = null;
+        next[e] = free;
+        free = e;
+        size--;
+    }
+
+    private void moveToFront(int e){
+        if(e == head) return;
+        unlink(e);
+        link(e);
+    }
+
+    private void link(int e){
+        prev[e] = NONE;
+        next[e] = head;
+        if(head != NONE) prev[head] = e;
+        head = e;
+        if(tail == NONE) tail = e;
+    }
+
+    private void unlink(int e){
+        if(prev[e] != NONE) next[prev[e]] = next[e]; else head = next[e];
+        if(next[e] != NONE) prev[next[e]] = prev[e]; else tail = prev[e];
+    }
+}
@@ -3,6 +3,8 @@ package gui.view;
 import javax.swing.*;
 import java.awt.*;
 import java.util.function.Consumer;
+import game.Decision;
+import game.LegalActions;
 import players.Player;
 
 /**
@@ -18,7 +20,9 @@ public class ActionPanel extends JPanel {
     private final JButton nextHandButton = new JButton("Next Hand");
 
     /** Send selected action back to GUIListener */
-    private Consumer<String> actionConsumer;
+    private Consumer<Decision> actionConsumer;
+    /** Legal actions for the current turn, used to prefill and check the raise amount */
+    private LegalActions legal;
     /**
      * Construct the ActionPanel with buttons and listeners
      */
@@ -33,12 +37,12 @@ public class ActionPanel extends JPanel {
         add(allInButton);
         add(nextHandButton);
 
-        foldButton.addActionListener(e -> send("FOLD"));
-        checkButton.addActionListener(e -> send("CHECK"));
-        callButton.addActionListener(e -> send("CALL"));
+        foldButton.addActionListener(e -> send(Decision.FOLD));
+        checkButton.addActionListener(e -> send(Decision.CHECK));
+        callButton.addActionListener(e -> send(Decision.CALL));
         raiseButton.addActionListener(e -> handleRaise());
-        allInButton.addActionListener(e -> send("ALL_IN"));
-        nextHandButton.addActionListener(e -> send("NEXT_HAND"));
+        allInButton.addActionListener(e -> send(Decision.ALL_IN));
+        nextHandButton.addActionListener(e -> send(Decision.NEXT_HAND));
         nextHandButton.setVisible(false); // only show when hand is over
 
         disableAll(); // start disabled, but still visible
@@ -65,14 +69,18 @@ public class ActionPanel extends JPanel {
       lbl.setFont(new Font("Arial", Font.BOLD, 14));
 
       JTextField input = new JTextField(10);
+      if(legal != null){
+         lbl.setText("Raise amount ($" + legal.getMinRaise() + " - $" + legal.getMaxRaise() + "):");
+         input.setText(String.valueOf(legal.getMinRaise()));
+      }
       input.setHorizontalAlignment(JTextField.CENTER);
       input.setFont(new Font("Arial", Font.PLAIN, 14));
 
       JButton ok = new JButton("Confirm raise");
       ok.addActionListener(e -> {
          String text = input.getText().trim();
-         if(text.matches("\\d+")){
-            send("RAISE:" + text);
+         if(text.matches("\\d{1,9}")){
+            send(Decision.raise(Integer.parseInt(text)));
             dialog.dispose();
          }else{
             JOptionPane.showMessageDialog(dialog, "Enter a valid number");
@@ -91,15 +99,15 @@ public class ActionPanel extends JPanel {
       dialog.setVisible(true);
 
    }
-    public void setActionConsumer(Consumer<String> consumer) {
+    public void setActionConsumer(Consumer<Decision> consumer) {
         this.actionConsumer = consumer;
     }
 
     /**
      * Send action to consumer if set
-     * @param action the action string to send
+     * @param action the decision to send
      */
-    private void send(String action) {
+    private void send(Decision action) {
         if (actionConsumer != null) {
             actionConsumer.accept(action);
         }
@@ -108,13 +116,19 @@ public class ActionPanel extends JPanel {
     /**
      * Enable buttons valid for this player.
      * GameEngine defines legality; this GUI only reflects it.
+     * @param legal legal actions for this turn; null enables every button
      */
-    public void enableForPlayer(Player p) {
-        // (Engine rules applied outside; GUI only enables controls)
+    public void enableForPlayer(Player p, LegalActions legal) {
+        this.legal = legal;
+        // Check and Call are exclusive: only one applies depending on what is owed
+        boolean canCheck = legal == null || legal.canCheck();
+        boolean canCall = legal == null || !legal.canCheck();
+        callButton.setText(legal != null && canCall ? "Call $" + legal.getCallAmount() : "Call");
+
         foldButton.setEnabled(true);
-        checkButton.setEnabled(true);
-        callButton.setEnabled(true);
-        raiseButton.setEnabled(true);
+        checkButton.setEnabled(canCheck);
+        callButton.setEnabled(canCall);
+        raiseButton.setEnabled(legal == null || legal.canRaise());
         allInButton.setEnabled(true);
 
         // IMPORTANT: never hide panel; just re-enable it
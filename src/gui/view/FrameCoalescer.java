@@ -0,0 +1,66 @@
+package gui.view;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * Hands submitted TableStates to a view at most once per frame on the EDT.
+ * Only the latest state (or state source) is kept, so any burst of updates costs one draw.
+ */
+final class FrameCoalescer {
+    //where the next frame's state comes from; null when nothing is pending
+    private final AtomicReference<Supplier<TablePanel.TableState>> pending = new AtomicReference<>();
+    private final Consumer<TablePanel.TableState> draw;
+    private final Timer frameTimer;
+    private volatile int frameMs;
+    private long lastFrame;
+
+    FrameCoalescer(int framesPerSecond, Consumer<TablePanel.TableState> draw){
+        this.draw = draw;
+        setFrameRate(framesPerSecond);
+        frameTimer = new Timer(frameMs, e -> drawPending());
+        frameTimer.setRepeats(false);
+    }
+
+    void setFrameRate(int framesPerSecond){
+        frameMs = 1000 / Math.max(1, framesPerSecond);
+    }
+
+    void submit(TablePanel.TableState state){
+        if(state == null) return;
+        invalidate(() -> state);
+    }
+
+    /**
+     * Draws source.get() on the next frame; source is only called then, on the EDT
+     */
+    void invalidate(Supplier<TablePanel.TableState> source){
+        if(pending.getAndSet(source) == null){
+            SwingUtilities.invokeLater(this::scheduleFrame);
+        }
+    }
+
+    /**
+     * Draws now if a frame has passed since the last draw, else when it has
+     */
+    private void scheduleFrame(){
+        long wait = lastFrame + frameMs - System.currentTimeMillis();
+        if(wait <= 0){
+            drawPending();
+        } else if(!frameTimer.isRunning()){
+            frameTimer.setInitialDelay((int)wait);
+            frameTimer.restart();
+        }
+    }
+
+    private void drawPending(){
+        Supplier<TablePanel.TableState> source = pending.getAndSet(null);
+        if(source != null){
+            lastFrame = System.currentTimeMillis();
+            draw.accept(source.get());
+        }
+    }
+}
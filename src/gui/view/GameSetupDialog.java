@@ -7,17 +7,21 @@ import java.awt.*;
  * Dialog for setting up game parameters before starting.
  * Allows user to choose:
  * - Starting chips (100-10000)
- * - Number of players (2-4)
+ * - Number of players (2-8)
+ * - Number of tables (1-16), shown tiled when more than one
+ * - Bots only: every seat is played by a bot and the game can be fast-forwarded
  */
 public class GameSetupDialog extends JDialog {
     private JSpinner chipsSpinner;
     private JSpinner playersSpinner;
+    private JSpinner tablesSpinner;
+    private JCheckBox botsCheck;
     private boolean confirmed = false;
 
     public GameSetupDialog(Frame parent) {
         super(parent, "Game Setup", true);
         setLayout(new BorderLayout(10, 10));
-        setSize(400, 250);
+        setSize(400, 340);
         setLocationRelativeTo(parent);
 
         // Main panel with settings
@@ -62,6 +66,27 @@ public class GameSetupDialog extends JDialog {
         playersSpinner.setFont(new Font("Arial", Font.PLAIN, 14));
         settingsPanel.add(playersSpinner, gbc);
 
+        // Number of tables
+        gbc.gridy = 3;
+        gbc.gridx = 0;
+        JLabel tablesLabel = new JLabel("Number of Tables:");
+        tablesLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        settingsPanel.add(tablesLabel, gbc);
+
+        gbc.gridx = 1;
+        SpinnerNumberModel tablesModel = new SpinnerNumberModel(1, 1, 16, 1);
+        tablesSpinner = new JSpinner(tablesModel);
+        tablesSpinner.setFont(new Font("Arial", Font.PLAIN, 14));
+        settingsPanel.add(tablesSpinner, gbc);
+
+        // Bots only
+        gbc.gridy = 4;
+        gbc.gridx = 0;
+        gbc.gridwidth = 2;
+        botsCheck = new JCheckBox("Bots only (watch, with speed control)");
+        botsCheck.setFont(new Font("Arial", Font.PLAIN, 14));
+        settingsPanel.add(botsCheck, gbc);
+
         add(settingsPanel, BorderLayout.CENTER);
 
         // Button panel
@@ -100,6 +125,14 @@ public class GameSetupDialog extends JDialog {
         return (Integer) playersSpinner.getValue();
     }
 
+    public int getNumberOfTables() {
+        return (Integer) tablesSpinner.getValue();
+    }
+
+    public boolean isBotsOnly() {
+        return botsCheck.isSelected();
+    }
+
     public static GameSetupResult showDialog(Frame parent) {
         GameSetupDialog dialog = new GameSetupDialog(parent);
         dialog.setVisible(true);
@@ -107,7 +140,9 @@ public class GameSetupDialog extends JDialog {
         if (dialog.isConfirmed()) {
             return new GameSetupResult(
                 dialog.getStartingChips(),
-                dialog.getNumberOfPlayers()
+                dialog.getNumberOfPlayers(),
+                dialog.getNumberOfTables(),
+                dialog.isBotsOnly()
             );
         }
         return null;
@@ -116,10 +151,22 @@ public class GameSetupDialog extends JDialog {
     public static class GameSetupResult {
         public final int startingChips;
         public final int numberOfPlayers;
+        public final int numberOfTables;
+        public final boolean botsOnly;
 
         public GameSetupResult(int startingChips, int numberOfPlayers) {
+            this(startingChips, numberOfPlayers, 1);
+        }
+
+        public GameSetupResult(int startingChips, int numberOfPlayers, int numberOfTables) {
+            this(startingChips, numberOfPlayers, numberOfTables, false);
+        }
+
+        public GameSetupResult(int startingChips, int numberOfPlayers, int numberOfTables, boolean botsOnly) {
             this.startingChips = startingChips;
             this.numberOfPlayers = numberOfPlayers;
+            this.numberOfTables = numberOfTables;
+            this.botsOnly = botsOnly;
         }
     }
 }
@@ -0,0 +1,60 @@
+package gui.view;
+
+import java.awt.*;
+import java.util.Hashtable;
+import java.util.function.IntConsumer;
+import javax.swing.*;
+
+/**
+ * Speed slider for watching bot games: 1x, 10x or Max.
+ * Reports the chosen speed as 1, 10 or the given max value.
+ */
+public class SpeedPanel extends JPanel {
+    private final JSlider slider = new JSlider(0, 2, 0);
+    private final JLabel handsLabel = new JLabel("");
+
+    /**
+     * @param maxSpeed value reported for the Max position
+     * @param onChange receives the speed whenever the slider moves
+     */
+    public SpeedPanel(int maxSpeed, IntConsumer onChange) {
+        setLayout(new FlowLayout());
+        setBackground(new Color(30, 30, 30));
+
+        Hashtable<Integer, JLabel> labels = new Hashtable<>();
+        labels.put(0, label("1×"));
+        labels.put(1, label("10×"));
+        labels.put(2, label("Max"));
+        slider.setLabelTable(labels);
+        slider.setPaintLabels(true);
+        slider.setSnapToTicks(true);
+        slider.setMajorTickSpacing(1);
+        slider.setPaintTicks(true);
+        slider.setOpaque(false);
+        slider.addChangeListener(e -> {
+            if (!slider.getValueIsAdjusting()) {
+                int pos = slider.getValue();
+                onChange.accept(pos == 0 ? 1 : pos == 1 ? 10 : maxSpeed);
+            }
+        });
+
+        JLabel title = label("Speed:");
+        handsLabel.setForeground(Color.WHITE);
+        add(title);
+        add(slider);
+        add(handsLabel);
+    }
+
+    /**
+     * Status text next to the slider, e.g. hands played
+     */
+    public void setStatus(String text) {
+        handsLabel.setText(text);
+    }
+
+    private static JLabel label(String text) {
+        JLabel l = new JLabel(text);
+        l.setForeground(Color.WHITE);
+        return l;
+    }
+}
@@ -0,0 +1,276 @@
+package gui.view;
+
+import cards.Card;
+import gui.integration.CardImageLoader;
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.function.Supplier;
+import javax.swing.*;
+
+/**
+ * Custom-painted poker table: seats, cards, board, pot and winner banner are all drawn in one
+ * paintComponent pass from the current TablePanel.TableState, with no child components to lay out.
+ *
+ * The frame is rendered into a VolatileImage back buffer only when the state or the size changes
+ * (or the buffer's video memory was lost); any other repaint is a single blit. Card images come
+ * from CardImageLoader's sprite cache at the size the current window needs.
+ * Layout matches TablePanel at 1400x800 and scales with the component.
+ */
+public class TableCanvas extends JComponent implements TableView{
+    private static final int MAX_PLAYERS = 8;
+    private static final int FRAMES_PER_SECOND = 60;
+    //TablePanel's layout size, used as scale 1
+    private static final double BASE_WIDTH = 1400;
+    private static final double BASE_HEIGHT = 800;
+
+    private static final Color FELT = new Color(0, 100, 0);
+    // TablePanel's translucent seat grey (40, 40, 40, 200) blended over the felt; opaque fills are cheaper
+    private static final Color SEAT = new Color(31, 53, 31);
+    private static final Color SEAT_BORDER = new Color(80, 80, 80);
+    private static final Color DEALER = new Color(255, 215, 0);
+    private static final Color EMPTY_CARD = new Color(255, 255, 255, 40);
+    private static final Stroke BORDER = new BasicStroke(2f);
+    private static final Stroke ACTIVE_BORDER = new BasicStroke(3f);
+
+    private final FrameCoalescer frames = new FrameCoalescer(FRAMES_PER_SECOND, this::applyTableState);
+    private TablePanel.TableState state = new TablePanel.TableState();
+    private VolatileImage buffer;
+    //used instead when no VolatileImage can be made (not displayable, headless)
+    private BufferedImage fallback;
+    private boolean dirty = true;
+
+    //fonts for the current scale
+    private double fontScale;
+    private Font nameFont;
+    private Font chipsFont;
+    private Font rankingFont;
+    private Font dealerFont;
+    private Font potFont;
+    private Font winnerFont;
+
+    public TableCanvas(){
+        setOpaque(true);
+        setPreferredSize(new Dimension((int)BASE_WIDTH, (int)BASE_HEIGHT));
+    }
+
+    @Override
+    public void submit(TablePanel.TableState state){
+        frames.submit(state);
+    }
+
+    @Override
+    public void invalidate(Supplier<TablePanel.TableState> source){
+        frames.invalidate(source);
+    }
+
+    @Override
+    public void setFrameRate(int framesPerSecond){
+        frames.setFrameRate(framesPerSecond);
+    }
+
+    @Override
+    public JComponent getComponent(){
+        return this;
+    }
+
+    @Override
+    public void applyTableState(TablePanel.TableState state){
+        if(state == null) return;
+        this.state = state;
+        dirty = true;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g){
+        int w = getWidth();
+        int h = getHeight();
+        if(w <= 0 || h <= 0) return;
+        while(true){
+            if(buffer == null || buffer.getWidth() != w || buffer.getHeight() != h){
+                buffer = createVolatileImage(w, h);
+                dirty = true;
+                if(buffer == null){
+                    paintFallback(g, w, h);
+                    return;
+                }
+                fallback = null;
+            }
+            int valid = buffer.validate(getGraphicsConfiguration());
+            if(valid == VolatileImage.IMAGE_INCOMPATIBLE){
+                buffer = null;
+                continue;
+            }
+            if(dirty || valid == VolatileImage.IMAGE_RESTORED){
+                Graphics2D bg = buffer.createGraphics();
+                render(bg, w, h);
+                bg.dispose();
+                dirty = false;
+            }
+            g.drawImage(buffer, 0, 0, null);
+            if(!buffer.contentsLost()) return;
+            dirty = true;
+        }
+    }
+
+    private void paintFallback(Graphics g, int w, int h){
+        if(fallback == null || fallback.getWidth() != w || fallback.getHeight() != h){
+            fallback = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            dirty = true;
+        }
+        if(dirty){
+            Graphics2D bg = fallback.createGraphics();
+            render(bg, w, h);
+            bg.dispose();
+            dirty = false;
+        }
+        g.drawImage(fallback, 0, 0, null);
+    }
+
+    /**
+     * Draws the whole table
+     */
+    private void render(Graphics2D g, int w, int h){
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setColor(FELT);
+        g.fillRect(0, 0, w, h);
+
+        double scale = Math.max(0.2, Math.min(w / BASE_WIDTH, h / BASE_HEIGHT));
+        updateFonts(scale);
+        int cardW = Math.max(8, (int)Math.round(80 * scale));
+        int cardH = Math.max(12, (int)Math.round(120 * scale));
+
+        // Position players in an oval, same as TablePanel.doLayout
+        double ovalWidth = w - 280 * scale;
+        double ovalHeight = h - 280 * scale;
+        for(TablePanel.PlayerState ps : state.players){
+            if(ps.seatIndex < 0 || ps.seatIndex >= MAX_PLAYERS) continue;
+            double angle = Math.PI / 2 + (2 * Math.PI * ps.seatIndex / MAX_PLAYERS);
+            int x = w / 2 + (int)(ovalWidth / 2 * Math.cos(angle));
+            int y = h / 2 - (int)(ovalHeight / 2 * Math.sin(angle));
+            drawSeat(g, ps, ps.seatIndex == state.dealerSeat, x, y, scale, cardW, cardH);
+        }
+        drawBoard(g, w / 2, h / 2, scale, cardW, cardH);
+
+        if(state.winnerText != null && !state.winnerText.isEmpty()){
+            g.setFont(winnerFont);
+            FontMetrics fm = g.getFontMetrics();
+            int bw = Math.max((int)(600 * scale), fm.stringWidth(state.winnerText) + (int)(20 * scale));
+            int bh = (int)(50 * scale);
+            int bx = w / 2 - bw / 2;
+            int by = h / 2 + (int)(90 * scale); // just below the board
+            g.setColor(Color.RED);
+            g.fillRect(bx, by, bw, bh);
+            g.setColor(Color.YELLOW);
+            drawCentered(g, state.winnerText, w / 2, by + (bh - fm.getHeight()) / 2 + fm.getAscent());
+        }
+    }
+
+    /**
+     * One player box centered on (cx, cy): name, chips, ranking, hole cards, and the dealer badge in the corner
+     */
+    private void drawSeat(Graphics2D g, TablePanel.PlayerState ps, boolean dealer,
+                          int cx, int cy, double scale, int cardW, int cardH){
+        int bw = (int)(175 * scale);
+        int bh = (int)(180 * scale);
+        int x = cx - bw / 2;
+        int y = cy - bh / 2;
+
+        g.setColor(SEAT);
+        g.fillRect(x, y, bw, bh);
+        g.setColor(ps.active ? Color.YELLOW : SEAT_BORDER);
+        g.setStroke(ps.active ? ACTIVE_BORDER : BORDER);
+        g.drawRect(x, y, bw, bh);
+
+        if(dealer){
+            g.setFont(dealerFont);
+            FontMetrics fm = g.getFontMetrics();
+            int dw = fm.stringWidth("BTN") + 4;
+            g.setColor(DEALER);
+            g.fillRect(x + 3, y + 3, dw, fm.getHeight());
+            g.setColor(Color.BLACK);
+            g.drawString("BTN", x + 5, y + 3 + fm.getAscent());
+        }
+        // the face-up card images replace PlayerPanel's card text line
+        int line = y + (int)(4 * scale);
+        line = drawLine(g, nameFont, Color.WHITE, ps.name != null ? ps.name : "", cx, line);
+        line = drawLine(g, chipsFont, Color.YELLOW, "$" + ps.chips, cx, line);
+        if(ps.handRanking != null && !ps.handRanking.isEmpty()){
+            drawLine(g, rankingFont, Color.CYAN, ps.handRanking, cx, line);
+        }
+
+        int gap = (int)(3 * scale);
+        int cardsY = y + bh - cardH - gap;
+        drawCard(g, ps.hole1, ps.cardsFaceUp, cx - gap / 2 - cardW, cardsY, cardW, cardH);
+        drawCard(g, ps.hole2, ps.cardsFaceUp, cx + (gap + 1) / 2, cardsY, cardW, cardH);
+    }
+
+    /**
+     * Pot and the five community card slots centered on (cx, cy)
+     */
+    private void drawBoard(Graphics2D g, int cx, int cy, double scale, int cardW, int cardH){
+        int gap = (int)(10 * scale);
+        int rowW = 5 * cardW + 4 * gap;
+        int x = cx - rowW / 2;
+        int y = cy - cardH / 2 + (int)(20 * scale);
+        for(int i = 0; i < 5; i++){
+            Card c = i < state.communityCards.size() ? state.communityCards.get(i) : null;
+            drawCard(g, c, true, x + i * (cardW + gap), y, cardW, cardH);
+        }
+        g.setFont(potFont);
+        g.setColor(Color.WHITE);
+        drawCentered(g, "Pot: $" + state.pot, cx, y - gap);
+    }
+
+    private void drawCard(Graphics2D g, Card card, boolean faceUp, int x, int y, int w, int h){
+        if(card == null){
+            if(faceUp){
+                // empty board slot
+                g.setColor(EMPTY_CARD);
+                g.fill(new RoundRectangle2D.Float(x, y, w, h, w / 8f, w / 8f));
+            }
+            return;
+        }
+        BufferedImage img = faceUp ? CardImageLoader.getCardImage(card, w, h) : CardImageLoader.getBackImage(w, h);
+        if(img != null){
+            g.drawImage(img, x, y, null);
+        } else {
+            // images still loading
+            g.setColor(Color.WHITE);
+            g.fillRect(x, y, w, h);
+        }
+    }
+
+    /**
+     * Draws one centered text line below top and returns the top of the next line
+     */
+    private int drawLine(Graphics2D g, Font font, Color color, String text, int cx, int top){
+        g.setFont(font);
+        g.setColor(color);
+        FontMetrics fm = g.getFontMetrics();
+        drawCentered(g, text, cx, top + fm.getAscent());
+        return top + fm.getHeight();
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int cx, int baseline){
+        g.drawString(text, cx - g.getFontMetrics().stringWidth(text) / 2, baseline);
+    }
+
+    private void updateFonts(double scale){
+        if(scale == fontScale) return;
+        fontScale = scale;
+        nameFont = new Font("Arial", Font.BOLD, size(14, scale));
+        chipsFont = new Font("Arial", Font.PLAIN, size(12, scale));
+        rankingFont = new Font("Arial", Font.ITALIC, size(11, scale));
+        dealerFont = new Font("Arial", Font.BOLD, size(12, scale));
+        potFont = new Font("Arial", Font.BOLD, size(16, scale));
+        winnerFont = new Font("Arial", Font.BOLD, size(26, scale));
+    }
+
+    private static int size(int base, double scale){
+        return Math.max(6, (int)Math.round(base * scale));
+    }
+}
@@ -0,0 +1,87 @@
+package gui.view;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.LineBorder;
+
+/**
+ * Tiles several tables in a grid, each with its own TableView and ActionPanel (none for bot games).
+ *
+ * Only the focused table (the last one clicked) is drawn at the full frame rate; the others
+ * show their latest state at a reduced rate, since their views coalesce everything in between.
+ */
+public class TableGrid extends JPanel{
+    public static final int FOCUSED_FRAMES_PER_SECOND = 60;
+    public static final int DEFAULT_BACKGROUND_FRAMES_PER_SECOND = 5;
+
+    private final List<TableView> views = new ArrayList<>();
+    private final List<JPanel> tiles = new ArrayList<>();
+    private final Border tileBorder = new LineBorder(new Color(30, 30, 30), 2);
+    private final Border focusBorder = new LineBorder(Color.YELLOW, 2);
+    private int backgroundFps = DEFAULT_BACKGROUND_FRAMES_PER_SECOND;
+    private int focused = -1;
+
+    /**
+     * @param tables number of tiles; columns are chosen to keep the grid close to square
+     */
+    public TableGrid(int tables){
+        int cols = (int)Math.ceil(Math.sqrt(tables));
+        int rows = (tables + cols - 1) / cols;
+        setLayout(new GridLayout(rows, cols));
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * Adds the next tile; clicking its table gives it focus
+     * @param actions the table's buttons, or null
+     */
+    public void addTable(TableView view, JComponent actions){
+        int index = views.size();
+        JPanel tile = new JPanel(new BorderLayout());
+        tile.setBorder(tileBorder);
+        tile.add(view.getComponent(), BorderLayout.CENTER);
+        if(actions != null) tile.add(actions, BorderLayout.SOUTH);
+        view.getComponent().addMouseListener(new MouseAdapter(){
+            @Override
+            public void mousePressed(MouseEvent e){
+                focus(index);
+            }
+        });
+        view.setFrameRate(backgroundFps);
+        views.add(view);
+        tiles.add(tile);
+        add(tile);
+    }
+
+    /**
+     * Draws the given table at full rate and all others at the background rate
+     */
+    public void focus(int index){
+        if(focused >= 0){
+            views.get(focused).setFrameRate(backgroundFps);
+            tiles.get(focused).setBorder(tileBorder);
+        }
+        focused = index;
+        views.get(index).setFrameRate(FOCUSED_FRAMES_PER_SECOND);
+        tiles.get(index).setBorder(focusBorder);
+    }
+
+    /**
+     * Frame rate of the tables that are not focused
+     */
+    public void setBackgroundFrameRate(int framesPerSecond){
+        backgroundFps = framesPerSecond;
+        for(int i = 0; i < views.size(); i++){
+            if(i != focused) views.get(i).setFrameRate(framesPerSecond);
+        }
+    }
+
+    public int getFocused(){
+        return focused;
+    }
+}
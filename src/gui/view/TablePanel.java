@@ -5,6 +5,8 @@ import gui.integration.PlayerState;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
 import javax.swing.*;    
 /**
  * TablePanel arranges all poker table components:
@@ -12,13 +14,27 @@ import javax.swing.*;
  *  -central BoardPanel for community cards + pot
  * 
  * Acts as main poker table visual layout.
+ *
+ * Updates from the game thread go through submit(): only the latest state is kept and it is
+ * drawn at most once per frame on the EDT, so bursts from fast bots or replays collapse into one
+ * pass. Each pass is diffed against what is already shown and touches only the panels that changed.
+ * TableCanvas is the custom-painted alternative.
  */
-public class TablePanel extends JPanel{
+public class TablePanel extends JPanel implements TableView{
     private List<PlayerPanel> playerPanels;
     private BoardPanel boardPanel;
     private static final int MAX_PLAYERS = 8;
     //label for winner display
     private JLabel winnerLabel;
+
+    //one EDT pass per frame at most
+    private static final int FRAMES_PER_SECOND = 60;
+    private final FrameCoalescer frames = new FrameCoalescer(FRAMES_PER_SECOND, this::applyTableState);
+    //what is on screen now (EDT only); a null seat is hidden
+    private final PlayerState[] shown = new PlayerState[MAX_PLAYERS];
+    private final List<Card> shownBoard = new ArrayList<>();
+    private int shownPot = -1;
+    private String shownWinner;
     
 
     public TablePanel(){
@@ -45,6 +61,27 @@ public class TablePanel extends JPanel{
         winnerLabel.setBackground(new Color(0,0,0,150));
         setComponentZOrder(winnerLabel, 0);//bring to front
         add(winnerLabel);
+        winnerLabel.setVisible(false);
+    }
+
+    @Override
+    public void submit(TableState state){
+        frames.submit(state);
+    }
+
+    @Override
+    public void invalidate(Supplier<TableState> source){
+        frames.invalidate(source);
+    }
+
+    @Override
+    public void setFrameRate(int framesPerSecond){
+        frames.setFrameRate(framesPerSecond);
+    }
+
+    @Override
+    public JComponent getComponent(){
+        return this;
     }
 
     @Override
@@ -90,48 +127,90 @@ public class TablePanel extends JPanel{
     }
 
     /**
-     * Applies a state update from game engine
+     * Applies a state update from game engine, on the EDT.
+     * Only what differs from the state shown last is set; layout is redone only
+     * when the set of visible seats changes.
      */
+    @Override
     public void applyTableState(TableState state){
         if (state == null) return;
 
-        // Hide all panels first
-        for(PlayerPanel panel : playerPanels){
-            panel.setVisible(false);
+        boolean seatsChanged = false;
+        PlayerState[] next = new PlayerState[MAX_PLAYERS];
+        for(PlayerState ps : state.players){
+            if(ps.seatIndex >= 0 && ps.seatIndex < MAX_PLAYERS){
+                next[ps.seatIndex] = ps;
+            }
         }
 
-        // Update visible players
-        for(PlayerState ps : state.players){
-            if(ps.seatIndex < 0 || ps.seatIndex >= MAX_PLAYERS) continue;
-            
-            PlayerPanel panel = playerPanels.get(ps.seatIndex);
-            panel.setVisible(true);
-            
-            if(ps.name != null){
+        for(int i = 0; i < MAX_PLAYERS; i++){
+            PlayerState ps = next[i];
+            PlayerState old = shown[i];
+            PlayerPanel panel = playerPanels.get(i);
+            if(ps == null){
+                if(old != null){
+                    panel.setVisible(false);
+                    seatsChanged = true;
+                    shown[i] = null;
+                }
+                continue;
+            }
+            // a seat coming into view is set in full
+            boolean fresh = old == null;
+            if(fresh){
+                panel.setVisible(true);
+                seatsChanged = true;
+                old = new PlayerState(i);
+                shown[i] = old;
+            }
+            if(ps.name != null && !ps.name.equals(old.name)){
                 panel.setPlayerName(ps.name);
             }
-            panel.setChips(ps.chips);
-            panel.setCards(ps.hole1, ps.hole2, ps.cardsFaceUp);
-            panel.setActive(ps.active);
-            panel.setHandRanking(ps.handRanking);
-            panel.setDealer(ps.seatIndex == state.dealerSeat);
+            if(fresh || ps.chips != old.chips){
+                panel.setChips(ps.chips);
+            }
+            if(fresh || ps.hole1 != old.hole1 || ps.hole2 != old.hole2 || ps.cardsFaceUp != old.cardsFaceUp){
+                panel.setCards(ps.hole1, ps.hole2, ps.cardsFaceUp);
+            }
+            if(fresh || ps.active != old.active){
+                panel.setActive(ps.active);
+            }
+            if(fresh || !Objects.equals(ps.handRanking, old.handRanking)){
+                panel.setHandRanking(ps.handRanking);
+            }
+            boolean dealer = ps.seatIndex == state.dealerSeat;
+            if(fresh || dealer != old.dealer){
+                panel.setDealer(dealer);
+            }
+            old.set(ps);
+            old.dealer = dealer;
         }
         
-        boardPanel.setCommunityCards(state.communityCards);
-        boardPanel.setPot(state.pot);
+        if(!shownBoard.equals(state.communityCards)){
+            boardPanel.setCommunityCards(state.communityCards);
+            shownBoard.clear();
+            shownBoard.addAll(state.communityCards);
+        }
+        if(state.pot != shownPot){
+            boardPanel.setPot(state.pot);
+            shownPot = state.pot;
+        }
         
-        if(state.winnerText != null && !state.winnerText.isEmpty()){
-            winnerLabel.setText(state.winnerText);
-            winnerLabel.setVisible(true);
-            winnerLabel.setBackground(Color.RED);
-            winnerLabel.repaint();
-            winnerLabel.revalidate();
-            setComponentZOrder(winnerLabel, 0); // bring to front
-        } else {
-            winnerLabel.setVisible(false);
+        if(!Objects.equals(state.winnerText, shownWinner)){
+            shownWinner = state.winnerText;
+            if(state.winnerText != null && !state.winnerText.isEmpty()){
+                winnerLabel.setText(state.winnerText);
+                winnerLabel.setVisible(true);
+                winnerLabel.setBackground(Color.RED);
+                setComponentZOrder(winnerLabel, 0); // bring to front
+            } else {
+                winnerLabel.setVisible(false);
+            }
+        }
+        if(seatsChanged){
+            revalidate();
+            repaint();
         }
-        revalidate();
-        repaint();
     }
 
     /**
@@ -146,11 +225,27 @@ public class TablePanel extends JPanel{
         public boolean cardsFaceUp;
         public boolean active;
         public String handRanking; // e.g. "Pair", "Flush"
+        boolean dealer; // as last drawn, kept by TablePanel
 
         public PlayerState(int seatIndex){
             this.seatIndex = seatIndex;
         }
 
+        /**
+         * Copies every displayed field of other into this state
+         */
+        public PlayerState set(PlayerState other){
+            this.seatIndex = other.seatIndex;
+            this.name = other.name;
+            this.chips = other.chips;
+            this.hole1 = other.hole1;
+            this.hole2 = other.hole2;
+            this.cardsFaceUp = other.cardsFaceUp;
+            this.active = other.active;
+            this.handRanking = other.handRanking;
+            return this;
+        }
+
         public PlayerState seat(int index) {this.seatIndex = index; return this;}
         public PlayerState name(String name) {this.name = name; return this;}
         public PlayerState chips(int chips) {this.chips = chips; return this;}
@@ -179,5 +274,20 @@ public class TablePanel extends JPanel{
             this.pot = amount;
             return this;
         }
+
+        /**
+         * Independent copy, e.g. to submit() while the original keeps changing
+         */
+        public TableState copy(){
+            TableState c = new TableState();
+            for(PlayerState ps : players){
+                c.players.add(new PlayerState(ps.seatIndex).set(ps));
+            }
+            c.communityCards = new ArrayList<>(communityCards);
+            c.pot = pot;
+            c.dealerSeat = dealerSeat;
+            c.winnerText = winnerText;
+            return c;
+        }
     }
 }
@@ -0,0 +1,42 @@
+package gui.view;
+
+import java.util.function.Supplier;
+import javax.swing.JComponent;
+
+/**
+ * A component that shows one poker table from TablePanel.TableState snapshots.
+ *
+ * Implementations:
+ *  -TablePanel: Swing component tree (PlayerPanels, BoardPanel, labels)
+ *  -TableCanvas: everything painted in one pass into a VolatileImage
+ */
+public interface TableView {
+    /**
+     * Queues a state for display; safe to call from any thread.
+     * The state must not be changed afterwards (pass a copy).
+     * States submitted within one frame are coalesced and only the last is drawn.
+     */
+    void submit(TablePanel.TableState state);
+
+    /**
+     * Marks the table as changed; on the next frame the view calls source (on the EDT) for the
+     * state to draw. A producer that patches one state in place can pass a source that copies
+     * it, and pays for one copy per frame however many changes came in. Safe from any thread.
+     */
+    void invalidate(Supplier<TablePanel.TableState> source);
+
+    /**
+     * Shows a state right away; EDT only
+     */
+    void applyTableState(TablePanel.TableState state);
+
+    /**
+     * Most frames drawn per second from submitted states
+     */
+    void setFrameRate(int framesPerSecond);
+
+    /**
+     * The Swing component to add to a container
+     */
+    JComponent getComponent();
+}
@@ -0,0 +1,33 @@
+package history;
+
+/**
+ * Layout of the binary hand-history log written by HandLogWriter.
+ *
+ * All numbers are little-endian. The file starts with a header
+ *     int MAGIC, int VERSION
+ * followed by one block per hand:
+ *     int length                      bytes that follow in this block
+ *     long handNumber, long epochMillis
+ *     byte dealerSeat, int smallBlind, int bigBlind, byte seats
+ *     per seat: int chips (before blinds), short nameLength, UTF-8 name
+ *     events, each a tag byte and its payload, ending with END
+ *
+ * Cards are stored as their index (Card.getIndex()), seats as a byte.
+ * A block is self-contained, so hands can be read from any block boundary.
+ */
+final class HandLog{
+    static final int MAGIC = 0x4C484848; // "HHHL"
+    static final int VERSION = 1;
+    static final int FILE_HEADER_BYTES = 8;
+
+    // event tags and payloads
+    static final byte END = 0;        // -
+    static final byte BLIND = 1;      // seat, int amount, byte big (0/1)
+    static final byte HOLE = 2;       // seat, card, card
+    static final byte ACTION = 3;     // seat, byte ACTION ordinal, int amount, int roundBet
+    static final byte BOARD = 4;      // byte PHASE ordinal, byte count, cards
+    static final byte SHOWDOWN = 5;   // seat, int strength
+    static final byte AWARD = 6;      // seat, int amount
+
+    private HandLog(){ }
+}
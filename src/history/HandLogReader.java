@@ -0,0 +1,290 @@
+package history;
+
+import cards.Card;
+import game.ACTION;
+import game.PHASE;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a binary hand log (see HandLog) through read-only memory maps.
+ *
+ * A single mapping is limited to 2 GB, so the file is mapped as a series of windows,
+ * each ending on a hand boundary. Opening the file walks the block lengths once and keeps
+ * a sparse index: the window and offset of every INDEX_STRIDE-th hand. hand(i) jumps to the
+ * nearest index entry and skips at most INDEX_STRIDE - 1 blocks by their length prefix.
+ *
+ * Hands are numbered by their position in the file (0..count() - 1). stream() and
+ * parallelStream() decode hands straight out of the mapped windows; the spliterator splits
+ * on index entries so parallel workers never share a cursor. Decoding uses absolute reads
+ * only, so one reader can serve any number of threads.
+ *
+ * A trailing partial block (e.g. from a crash mid-write) is ignored.
+ */
+public class HandLogReader implements Closeable{
+    static final int INDEX_STRIDE = 64;
+    private static final long MAX_WINDOW = 1L << 30;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final int[] indexWindow;    // window of hand i * INDEX_STRIDE
+    private final int[] indexOffset;    // offset of that hand's block in its window
+    private final long count;
+
+    public HandLogReader(Path file) throws IOException{
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        if(size < HandLog.FILE_HEADER_BYTES){
+            throw new IOException("Not a hand log: " + file);
+        }
+        MappedByteBuffer header = map(0, HandLog.FILE_HEADER_BYTES);
+        if(header.getInt(0) != HandLog.MAGIC || header.getInt(4) != HandLog.VERSION){
+            throw new IOException("Not a hand log: " + file);
+        }
+
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        int[] idxWindow = new int[1024];
+        int[] idxOffset = new int[1024];
+        long hands = 0;
+        long start = HandLog.FILE_HEADER_BYTES;
+        while(start < size){
+            MappedByteBuffer w = map(start, Math.min(MAX_WINDOW, size - start));
+            int limit = w.capacity();
+            int pos = 0;
+            while(pos + 4 <= limit){
+                int length = w.getInt(pos);
+                if(length <= 0 || (long)pos + 4 + length > limit){
+                    break;
+                }
+                if(hands % INDEX_STRIDE == 0){
+                    int slot = (int)(hands / INDEX_STRIDE);
+                    if(slot == idxWindow.length){
+                        idxWindow = Arrays.copyOf(idxWindow, slot * 2);
+                        idxOffset = Arrays.copyOf(idxOffset, slot * 2);
+                    }
+                    idxWindow[slot] = mapped.size();
+                    idxOffset[slot] = pos;
+                }
+                pos += 4 + length;
+                hands++;
+            }
+            if(pos == 0){
+                break; // partial block at the end of the file
+            }
+            mapped.add(pos == limit ? w : map(start, pos));
+            start += pos;
+        }
+        this.windows = mapped.toArray(new MappedByteBuffer[0]);
+        int slots = (int)((hands + INDEX_STRIDE - 1) / INDEX_STRIDE);
+        this.indexWindow = Arrays.copyOf(idxWindow, slots);
+        this.indexOffset = Arrays.copyOf(idxOffset, slots);
+        this.count = hands;
+    }
+
+    private MappedByteBuffer map(long position, long size) throws IOException{
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        return buf;
+    }
+
+    /**
+     * Number of complete hands in the file
+     */
+    public long count(){
+        return count;
+    }
+
+    /**
+     * The i-th hand of the file (0-based)
+     */
+    public RecordedHand hand(long i){
+        if(i < 0 || i >= count){
+            throw new IndexOutOfBoundsException("Hand " + i + " of " + count);
+        }
+        Cursor c = new Cursor(i);
+        return c.next();
+    }
+
+    public Stream<RecordedHand> stream(){
+        return StreamSupport.stream(new HandSpliterator(0, count), false);
+    }
+
+    /**
+     * Parallel stream over all hands; work is split across cores on index boundaries
+     */
+    public Stream<RecordedHand> parallelStream(){
+        return StreamSupport.stream(new HandSpliterator(0, count), true);
+    }
+
+    /**
+     * Closes the file. The mappings themselves are released by the garbage collector.
+     */
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+
+    /**
+     * Position in the log: a window and an offset, advanced block by block
+     */
+    private final class Cursor{
+        int window;
+        int offset;
+
+        Cursor(long hand){
+            int slot = (int)(hand / INDEX_STRIDE);
+            window = indexWindow[slot];
+            offset = indexOffset[slot];
+            for(long skip = hand % INDEX_STRIDE; skip > 0; skip--){
+                advance();
+            }
+        }
+
+        /**
+         * Moves past the current block without decoding it
+         */
+        void advance(){
+            offset += 4 + windows[window].getInt(offset);
+            if(offset >= windows[window].capacity()){
+                window++;
+                offset = 0;
+            }
+        }
+
+        RecordedHand next(){
+            RecordedHand hand = decode(windows[window], offset + 4);
+            advance();
+            return hand;
+        }
+    }
+
+    /**
+     * Decodes the block whose body starts at pos
+     */
+    private static RecordedHand decode(MappedByteBuffer b, int pos){
+        long handNumber = b.getLong(pos);
+        long time = b.getLong(pos + 8);
+        int dealer = b.get(pos + 16);
+        int smallBlind = b.getInt(pos + 17);
+        int bigBlind = b.getInt(pos + 21);
+        int seats = b.get(pos + 25);
+        pos += 26;
+        RecordedHand hand = new RecordedHand(handNumber, time, dealer, smallBlind, bigBlind, seats);
+        for(int seat = 0; seat < seats; seat++){
+            int chips = b.getInt(pos);
+            int nameLength = b.getShort(pos + 4);
+            byte[] name = new byte[nameLength];
+            b.get(pos + 6, name);
+            hand.setSeat(seat, new String(name, StandardCharsets.UTF_8), chips);
+            pos += 6 + nameLength;
+        }
+
+        PHASE street = PHASE.PRE_FLOP;
+        ACTION[] actions = ACTION.values();
+        PHASE[] phases = PHASE.values();
+        while(true){
+            byte tag = b.get(pos++);
+            switch(tag){
+                case HandLog.END:
+                    return hand;
+                case HandLog.BLIND:
+                    hand.setBlind(b.get(pos), b.getInt(pos + 1));
+                    pos += 6;
+                    break;
+                case HandLog.HOLE:
+                    hand.setHoleCards(b.get(pos), Card.of(b.get(pos + 1)), Card.of(b.get(pos + 2)));
+                    pos += 3;
+                    break;
+                case HandLog.ACTION:
+                    hand.addAction(new RecordedAction(street, b.get(pos), actions[b.get(pos + 1)],
+                                                      b.getInt(pos + 2), b.getInt(pos + 6)));
+                    pos += 10;
+                    break;
+                case HandLog.BOARD:
+                    street = phases[b.get(pos)];
+                    int cards = b.get(pos + 1);
+                    pos += 2;
+                    hand.setBoard(List.of());
+                    for(int k = 0; k < cards; k++){
+                        hand.addBoardCard(Card.of(b.get(pos++)));
+                    }
+                    break;
+                case HandLog.SHOWDOWN:
+                    hand.setStrength(b.get(pos), b.getInt(pos + 1));
+                    pos += 5;
+                    break;
+                case HandLog.AWARD:
+                    hand.addAward(b.get(pos), b.getInt(pos + 1));
+                    pos += 5;
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt hand log: unknown event " + tag);
+            }
+        }
+    }
+
+    /**
+     * Hands [from, to), split in halves rounded to index entries
+     */
+    private final class HandSpliterator implements Spliterator<RecordedHand>{
+        private long from;
+        private final long to;
+        private Cursor cursor;
+
+        HandSpliterator(long from, long to){
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RecordedHand> action){
+            if(from >= to){
+                return false;
+            }
+            if(cursor == null){
+                cursor = new Cursor(from);
+            }
+            from++;
+            action.accept(cursor.next());
+            return true;
+        }
+
+        @Override
+        public Spliterator<RecordedHand> trySplit(){
+            if(cursor != null){
+                return null; // already iterating
+            }
+            long mid = (from + to) >>> 1;
+            mid -= mid % INDEX_STRIDE;
+            if(mid <= from || to - from < 2 * INDEX_STRIDE){
+                return null;
+            }
+            HandSpliterator prefix = new HandSpliterator(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            return to - from;
+        }
+
+        @Override
+        public int characteristics(){
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package history;
+
+import cards.Card;
+import game.ACTION;
+import game.HandRecorder;
+import game.PHASE;
+import game.Table;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import players.Player;
+
+/**
+ * HandRecorder that appends every hand to a binary log (format in HandLog).
+ *
+ * Events are encoded straight into a large direct buffer; the FileChannel is only
+ * written when the buffer is nearly full or flushInterval has passed at the end of
+ * a hand, so recording costs a few hundred bytes of buffer writes per hand.
+ * Only whole hands reach the file, so a crash loses at most the unflushed hands.
+ * Should the file still end in a cut-off block (a write interrupted by the OS, an old
+ * writer's bug), it is truncated to the last complete hand when the log is reopened.
+ *
+ * Not thread-safe: use one writer (and file) per GameEngine.
+ * I/O errors are rethrown as UncheckedIOException on the engine thread.
+ */
+public class HandLogWriter implements HandRecorder, Closeable{
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    public static final long DEFAULT_FLUSH_MILLIS = 1000;
+
+    private final FileChannel channel;
+    private final long flushIntervalNanos;
+    private ByteBuffer buf;
+    private int handStart = -1;     // position of the current hand's length field, -1 between hands
+    private long lastFlush = System.nanoTime();
+
+    // UTF-8 names cached per seat, re-encoded only when the seat's name changes
+    private final String[] names = new String[8];
+    private final byte[][] nameBytes = new byte[8][];
+
+    public HandLogWriter(Path file) throws IOException{
+        this(file, DEFAULT_BUFFER_BYTES, DEFAULT_FLUSH_MILLIS);
+    }
+
+    /**
+     * Opens (or creates) the log for appending
+     * @param bufferBytes batch size; the file is written when it fills up
+     * @param flushMillis longest time finished hands stay in the buffer
+     * @throws IOException also if the file exists but is not a hand log
+     */
+    public HandLogWriter(Path file, int bufferBytes, long flushMillis) throws IOException{
+        long complete = completeLength(file);
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                        StandardOpenOption.APPEND);
+        if(channel.size() > complete){
+            channel.truncate(complete); // drop a partial block so appended hands stay readable
+        }
+        this.flushIntervalNanos = flushMillis * 1_000_000L;
+        this.buf = ByteBuffer.allocateDirect(Math.max(bufferBytes, 4096)).order(ByteOrder.LITTLE_ENDIAN);
+        if(complete == 0){
+            buf.putInt(HandLog.MAGIC).putInt(HandLog.VERSION);
+        }
+    }
+
+    /**
+     * Length of the file up to the end of its last complete hand block (0 if missing or shorter
+     * than the header). Blocks are walked by their length fields, as HandLogReader does.
+     */
+    private static long completeLength(Path file) throws IOException{
+        if(!Files.exists(file)){
+            return 0;
+        }
+        try(FileChannel in = FileChannel.open(file, StandardOpenOption.READ)){
+            long size = in.size();
+            if(size < HandLog.FILE_HEADER_BYTES){
+                return 0;
+            }
+            ByteBuffer chunk = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            int n = read(in, chunk, 0);
+            if(n < HandLog.FILE_HEADER_BYTES || chunk.getInt(0) != HandLog.MAGIC || chunk.getInt(4) != HandLog.VERSION){
+                throw new IOException("Not a hand log: " + file);
+            }
+            long pos = HandLog.FILE_HEADER_BYTES;
+            while(true){
+                n = read(in, chunk, pos);
+                if(n < 4){
+                    return pos;
+                }
+                int off = 0;
+                while(off + 4 <= n){
+                    int length = chunk.getInt(off);
+                    if(length <= 0 || pos + off + 4L + length > size){
+                        return pos + off;
+                    }
+                    off += 4 + length; // may run past the chunk; the next read starts there
+                }
+                pos += off;
+            }
+        }
+    }
+
+    /**
+     * Fills buf from the given file position, short only at the end of the file
+     * @return bytes read
+     */
+    private static int read(FileChannel in, ByteBuffer buf, long position) throws IOException{
+        buf.clear();
+        while(buf.hasRemaining()){
+            int r = in.read(buf, position + buf.position());
+            if(r < 0) break;
+        }
+        return buf.position();
+    }
+
+    @Override
+    public void startHand(long handNumber, Table table, int dealerSeat){
+        List<Player> players = table.getPlayers();
+        ensure(64);
+        handStart = buf.position();
+        buf.putInt(0); // length, filled in by endHand
+        buf.putLong(handNumber).putLong(System.currentTimeMillis());
+        buf.put((byte)dealerSeat).putInt(table.getSmallBlind()).putInt(table.getBigBlind());
+        buf.put((byte)players.size());
+        for(int i = 0; i < players.size(); i++){
+            Player p = players.get(i);
+            byte[] name = nameBytes(i, p.getName());
+            ensure(6 + name.length);
+            buf.putInt(p.getChips()).putShort((short)name.length).put(name);
+        }
+    }
+
+    @Override
+    public void blind(int seat, int amount, boolean bigBlind){
+        ensure(7);
+        buf.put(HandLog.BLIND).put((byte)seat).putInt(amount).put((byte)(bigBlind ? 1 : 0));
+    }
+
+    @Override
+    public void holeCards(int seat, Card first, Card second){
+        ensure(4);
+        buf.put(HandLog.HOLE).put((byte)seat).put((byte)first.getIndex()).put((byte)second.getIndex());
+    }
+
+    @Override
+    public void action(int seat, ACTION action, int amount, int roundBet){
+        ensure(11);
+        buf.put(HandLog.ACTION).put((byte)seat).put((byte)action.ordinal()).putInt(amount).putInt(roundBet);
+    }
+
+    @Override
+    public void board(PHASE street, List<Card> board){
+        ensure(3 + board.size());
+        buf.put(HandLog.BOARD).put((byte)street.ordinal()).put((byte)board.size());
+        for(Card c : board){
+            buf.put((byte)c.getIndex());
+        }
+    }
+
+    @Override
+    public void showdown(int seat, int strength){
+        ensure(6);
+        buf.put(HandLog.SHOWDOWN).put((byte)seat).putInt(strength);
+    }
+
+    @Override
+    public void award(int seat, int amount){
+        ensure(6);
+        buf.put(HandLog.AWARD).put((byte)seat).putInt(amount);
+    }
+
+    @Override
+    public void endHand(){
+        ensure(1);
+        buf.put(HandLog.END);
+        buf.putInt(handStart, buf.position() - handStart - 4);
+        handStart = -1;
+        long now = System.nanoTime();
+        if(now - lastFlush >= flushIntervalNanos){
+            flush();
+        }
+    }
+
+    /**
+     * Writes every finished hand to the file
+     */
+    public void flush(){
+        int end = handStart >= 0 ? handStart : buf.position();
+        try{
+            writeOut(end);
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        lastFlush = System.nanoTime();
+    }
+
+    /**
+     * Flushes finished hands, forces them to disk and closes the file.
+     * A hand still in progress is dropped.
+     */
+    @Override
+    public void close() throws IOException{
+        writeOut(handStart >= 0 ? handStart : buf.position());
+        channel.force(false);
+        channel.close();
+    }
+
+    /**
+     * Makes room for n more bytes: writes out finished hands, and grows the buffer
+     * if a single hand doesn't fit
+     */
+    private void ensure(int n){
+        if(buf.remaining() >= n){
+            return;
+        }
+        flush();
+        if(buf.remaining() < n){
+            ByteBuffer bigger = ByteBuffer.allocateDirect(buf.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+            buf.flip();
+            bigger.put(buf);
+            buf = bigger;
+        }
+    }
+
+    /**
+     * Writes bytes [0, end) and moves any partial hand to the front of the buffer
+     */
+    private void writeOut(int end) throws IOException{
+        int pos = buf.position();
+        buf.position(0).limit(end);
+        while(buf.hasRemaining()){
+            channel.write(buf);
+        }
+        buf.limit(pos);
+        buf.compact();
+        if(handStart >= 0){
+            handStart -= end;
+        }
+    }
+
+    private byte[] nameBytes(int seat, String name){
+        if(seat >= names.length){
+            return name.getBytes(StandardCharsets.UTF_8);
+        }
+        if(!name.equals(names[seat])){
+            names[seat] = name;
+            nameBytes[seat] = name.getBytes(StandardCharsets.UTF_8);
+        }
+        return nameBytes[seat];
+    }
+}
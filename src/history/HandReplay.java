@@ -0,0 +1,95 @@
+package history;
+
+import cards.Card;
+import game.HandEvaluator;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks a RecordedHand against the rules GameEngine plays by:
+ *  -no seat puts in more chips than it started with
+ *  -the chips put in equal the chips awarded plus the rake
+ *  -recorded showdown strengths match HandEvaluator for the shown cards and board
+ *  -a single pot goes to the best shown hand, split evenly with the odd chips to the
+ *   first winner in seat order (side pots are only checked for the overall winner)
+ *
+ * Useful for validating the evaluator and the pot logic against imported real-world
+ * histories, and our own logs against themselves.
+ */
+public final class HandReplay{
+    private HandReplay(){ }
+
+    /**
+     * @return descriptions of every rule the hand breaks; empty if it is consistent
+     */
+    public static List<String> validate(RecordedHand hand){
+        List<String> problems = new ArrayList<>();
+        int seats = hand.getSeats();
+        int invested = 0;
+        for(int seat = 0; seat < seats; seat++){
+            int in = hand.getInvested(seat);
+            invested += in;
+            if(in > hand.getStartingChips(seat)){
+                problems.add(hand.getName(seat) + " put in $" + in + " holding only $" + hand.getStartingChips(seat));
+            }
+        }
+        if(invested != hand.getPot() + hand.getRake()){
+            problems.add("Chips put in ($" + invested + ") != awarded ($" + hand.getPot() + ") + rake ($" + hand.getRake() + ")");
+        }
+
+        List<Card> board = hand.getBoard();
+        if(board.size() != 5){
+            return problems;
+        }
+        long boardMask = HandEvaluator.toMask(board);
+        int best = -1;
+        int shown = 0;
+        for(int seat = 0; seat < seats; seat++){
+            int strength = hand.getStrength(seat);
+            if(strength < 0) continue;
+            shown++;
+            List<Card> hole = hand.getHoleCards(seat);
+            if(!hole.isEmpty()){
+                int expected = HandEvaluator.strength(boardMask | HandEvaluator.toMask(hole));
+                if(expected != strength){
+                    problems.add(hand.getName(seat) + " recorded strength " + Integer.toHexString(strength)
+                                 + " but evaluates to " + Integer.toHexString(expected));
+                }
+            }
+            best = Math.max(best, strength);
+        }
+        if(shown < 2){
+            return problems;
+        }
+
+        List<Integer> winners = new ArrayList<>();
+        for(int seat = 0; seat < seats; seat++){
+            if(hand.getStrength(seat) == best) winners.add(seat);
+        }
+        if(hand.hasSidePots()){
+            boolean paid = false;
+            for(int seat : winners){
+                paid |= hand.getAward(seat) > 0;
+            }
+            if(!paid){
+                problems.add("Best shown hand won nothing");
+            }
+            return problems;
+        }
+        int pot = hand.getPot();
+        for(int i = 0; i < winners.size(); i++){
+            int seat = winners.get(i);
+            int expected = pot / winners.size() + (i == 0 ? pot % winners.size() : 0);
+            // other sites may hand the odd chip to a different winner
+            if(Math.abs(hand.getAward(seat) - expected) > (winners.size() > 1 ? pot % winners.size() : 0)){
+                problems.add(hand.getName(seat) + " won $" + hand.getAward(seat) + ", expected $" + expected);
+            }
+        }
+        for(int seat = 0; seat < seats; seat++){
+            if(hand.getAward(seat) > 0 && !winners.contains(seat)){
+                problems.add(hand.getName(seat) + " won $" + hand.getAward(seat) + " without the best hand");
+            }
+        }
+        return problems;
+    }
+}
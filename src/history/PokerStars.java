@@ -0,0 +1,76 @@
+package history;
+
+import cards.Card;
+import game.HAND_WEIGHT;
+import game.HandEvaluator;
+
+/**
+ * Text conventions of PokerStars hand histories shared by the exporter and importer:
+ * card notation ("Ah", "Td") and showdown hand descriptions ("a pair of Aces").
+ */
+final class PokerStars{
+    static final String RANK_CHARS = "23456789TJQKA";
+    static final String SUIT_CHARS = "cshd"; // SUIT ordinal order
+
+    private static final String[] RANK_NAMES = {
+        "Deuce", "Three", "Four", "Five", "Six", "Seven", "Eight",
+        "Nine", "Ten", "Jack", "Queen", "King", "Ace"
+    };
+    private static final String[] RANK_PLURALS = {
+        "Deuces", "Threes", "Fours", "Fives", "Sixes", "Sevens", "Eights",
+        "Nines", "Tens", "Jacks", "Queens", "Kings", "Aces"
+    };
+
+    private PokerStars(){ }
+
+    static StringBuilder appendCard(StringBuilder sb, Card c){
+        int code = c.getIndex();
+        return sb.append(RANK_CHARS.charAt(code % 13)).append(SUIT_CHARS.charAt(code / 13));
+    }
+
+    /**
+     * Card code of two-character notation such as "Ah", or -1 if it isn't a card
+     */
+    static int cardCode(char rank, char suit){
+        int r = RANK_CHARS.indexOf(rank);
+        int s = SUIT_CHARS.indexOf(suit);
+        return r < 0 || s < 0 ? -1 : s * 13 + r;
+    }
+
+    /**
+     * Showdown description of a HandEvaluator strength, e.g. "two pair, Kings and Fives"
+     */
+    static StringBuilder appendHand(StringBuilder sb, int strength){
+        int r1 = (strength >>> 16) & 0xF;
+        int r2 = (strength >>> 12) & 0xF;
+        HAND_WEIGHT weight = HandEvaluator.weightOf(strength);
+        switch(weight){
+            case ROYAL_FLUSH:
+                return sb.append("a Royal Flush");
+            case STRAIGHT_FLUSH:
+                return appendStraight(sb.append("a straight flush, "), r1);
+            case FOUR_OF_A_KIND:
+                return sb.append("four of a kind, ").append(RANK_PLURALS[r1]);
+            case FULL_HOUSE:
+                return sb.append("a full house, ").append(RANK_PLURALS[r1]).append(" full of ").append(RANK_PLURALS[r2]);
+            case FLUSH:
+                return sb.append("a flush, ").append(RANK_NAMES[r1]).append(" high");
+            case STRAIGHT:
+                return appendStraight(sb.append("a straight, "), r1);
+            case THREE_OF_A_KIND:
+                return sb.append("three of a kind, ").append(RANK_PLURALS[r1]);
+            case TWO_PAIR:
+                return sb.append("two pair, ").append(RANK_PLURALS[r1]).append(" and ").append(RANK_PLURALS[r2]);
+            case PAIR:
+                return sb.append("a pair of ").append(RANK_PLURALS[r1]);
+            default:
+                return sb.append("high card ").append(RANK_NAMES[r1]);
+        }
+    }
+
+    private static StringBuilder appendStraight(StringBuilder sb, int high){
+        // the wheel runs Ace to Five
+        String low = high == 3 ? RANK_NAMES[12] : RANK_NAMES[high - 4];
+        return sb.append(low).append(" to ").append(RANK_NAMES[high]);
+    }
+}
@@ -0,0 +1,366 @@
+package history;
+
+import cards.Card;
+import game.ACTION;
+import game.HandRecorder;
+import game.PHASE;
+import game.Table;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import players.Player;
+
+/**
+ * HandRecorder that writes PokerStars-style text hand histories, so third-party
+ * trackers can read games played by GameEngine.
+ *
+ * Each hand is built in one reused StringBuilder while it is played, then encoded with a
+ * reused CharsetEncoder into a large direct buffer that goes to the channel only when full
+ * (or on flush/close). Nothing grows with the number of hands written.
+ *
+ * Hole cards are listed as "Dealt to" for the hero seat only (as a player's own history
+ * would), plus every hand shown at showdown. Seats with no chips are left out.
+ * The engine does not return uncalled bets or build side pots, and the export mirrors
+ * exactly what it awarded.
+ *
+ * Not thread-safe: use one exporter per GameEngine.
+ */
+public class PokerStarsExporter implements HandRecorder, Closeable{
+    public static final int DEFAULT_BUFFER_BYTES = 1 << 20;
+    private static final DateTimeFormatter DATE =
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss").withZone(ZoneId.of("America/New_York"));
+    private static final String[] STREET_NAMES = {"", "Flop", "Flop", "Turn", "River", "River"};
+
+    private final WritableByteChannel channel;
+    private final String tableName;
+    private final int heroSeat;
+    private final StringBuilder sb = new StringBuilder(4096);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer out;
+
+    // current hand
+    private String[] names = new String[0];
+    private int[] chips = new int[0];          // chips left behind
+    private int[] invested = new int[0];
+    private int[] won = new int[0];
+    private int[] strengths = new int[0];
+    private PHASE[] foldedOn = new PHASE[0];
+    private Card[] holes = new Card[0];
+    private List<Card> board = List.of();
+    private int seats;
+    private int dealerSeat;
+    private int smallBlindSeat;
+    private int bigBlindSeat;
+    private int currentBet;
+    private int bigBlindSize;
+    private PHASE street;
+    private boolean showdown;
+    private boolean dealt; // hole cards header written
+
+    // date text is cached per second
+    private long dateSecond = Long.MIN_VALUE;
+    private String dateText;
+
+    public PokerStarsExporter(Path file, String tableName, int heroSeat) throws IOException{
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                              StandardOpenOption.APPEND), tableName, heroSeat, DEFAULT_BUFFER_BYTES);
+    }
+
+    /**
+     * @param heroSeat seat whose hole cards are always listed, -1 for none
+     */
+    public PokerStarsExporter(WritableByteChannel channel, String tableName, int heroSeat, int bufferBytes){
+        this.channel = channel;
+        this.tableName = tableName;
+        this.heroSeat = heroSeat;
+        this.out = ByteBuffer.allocateDirect(Math.max(bufferBytes, 4096));
+    }
+
+    @Override
+    public void startHand(long handNumber, Table table, int dealerSeat){
+        List<Player> players = table.getPlayers();
+        seats = players.size();
+        if(names.length < seats){
+            names = new String[seats];
+            chips = new int[seats];
+            invested = new int[seats];
+            won = new int[seats];
+            strengths = new int[seats];
+            foldedOn = new PHASE[seats];
+            holes = new Card[2 * seats];
+        }
+        Arrays.fill(invested, 0);
+        Arrays.fill(won, 0);
+        Arrays.fill(strengths, -1);
+        Arrays.fill(foldedOn, null);
+        this.dealerSeat = dealerSeat;
+        smallBlindSeat = -1;
+        bigBlindSeat = -1;
+        currentBet = 0;
+        bigBlindSize = table.getBigBlind();
+        street = PHASE.PRE_FLOP;
+        showdown = false;
+        dealt = false;
+        Arrays.fill(holes, null);
+        board = List.of();
+
+        sb.setLength(0);
+        sb.append("PokerStars Hand #").append(handNumber).append(":  Hold'em No Limit ($")
+          .append(table.getSmallBlind()).append("/$").append(table.getBigBlind()).append(" USD) - ")
+          .append(date()).append(" ET\n");
+        sb.append("Table '").append(tableName).append("' ").append(seats).append("-max Seat #")
+          .append(dealerSeat + 1).append(" is the button\n");
+        for(int i = 0; i < seats; i++){
+            Player p = players.get(i);
+            names[i] = p.getName();
+            chips[i] = p.getChips();
+            if(chips[i] > 0){
+                sb.append("Seat ").append(i + 1).append(": ").append(names[i])
+                  .append(" ($").append(chips[i]).append(" in chips)\n");
+            }
+        }
+    }
+
+    @Override
+    public void blind(int seat, int amount, boolean bigBlind){
+        if(bigBlind){
+            // the engine sets the bet to a full big blind even if the seat couldn't post it
+            currentBet = Math.max(currentBet, bigBlindSize);
+        }
+        if(amount == 0){
+            return; // blind fell on a seat with no chips
+        }
+        pay(seat, amount);
+        if(bigBlind){
+            bigBlindSeat = seat;
+        } else {
+            smallBlindSeat = seat;
+        }
+        sb.append(names[seat]).append(bigBlind ? ": posts big blind $" : ": posts small blind $").append(amount);
+        allIn(seat).append('\n');
+    }
+
+    @Override
+    public void holeCards(int seat, Card first, Card second){
+        holes[2 * seat] = first;
+        holes[2 * seat + 1] = second;
+        if(!dealt){
+            // first seat dealt in; busted seats get no cards
+            sb.append("*** HOLE CARDS ***\n");
+            dealt = true;
+        }
+        if(seat == heroSeat && chips[seat] + invested[seat] > 0){
+            sb.append("Dealt to ").append(names[seat]).append(' ');
+            appendHole(seat).append('\n');
+        }
+    }
+
+    @Override
+    public void action(int seat, ACTION action, int amount, int roundBet){
+        pay(seat, amount);
+        sb.append(names[seat]);
+        switch(action){
+            case FOLD:
+                foldedOn[seat] = street;
+                sb.append(": folds\n");
+                return;
+            case CHECK:
+                sb.append(": checks\n");
+                return;
+            case CALL:
+                sb.append(": calls $").append(amount);
+                break;
+            default: // RAISE, ALL_IN
+                if(roundBet <= currentBet){
+                    sb.append(": calls $").append(amount);
+                } else if(currentBet == 0){
+                    sb.append(": bets $").append(amount);
+                    currentBet = roundBet;
+                } else {
+                    sb.append(": raises $").append(roundBet - currentBet).append(" to $").append(roundBet);
+                    currentBet = roundBet;
+                }
+        }
+        allIn(seat).append('\n');
+    }
+
+    @Override
+    public void board(PHASE street, List<Card> board){
+        this.street = street;
+        this.board = board;
+        currentBet = 0;
+        sb.append("*** ").append(street == PHASE.FLOP ? "FLOP" : street == PHASE.TURN ? "TURN" : "RIVER").append(" *** [");
+        int dealt = street == PHASE.FLOP ? 0 : board.size() - 1;
+        for(int i = 0; i < dealt; i++){
+            if(i > 0) sb.append(' ');
+            PokerStars.appendCard(sb, board.get(i));
+        }
+        if(dealt > 0){
+            sb.append("] [");
+            PokerStars.appendCard(sb, board.get(dealt));
+        } else {
+            appendCards(board);
+        }
+        sb.append("]\n");
+    }
+
+    @Override
+    public void showdown(int seat, int strength){
+        if(!showdown){
+            showdown = true;
+            sb.append("*** SHOW DOWN ***\n");
+        }
+        strengths[seat] = strength;
+        sb.append(names[seat]).append(": shows ");
+        appendHole(seat).append(" (");
+        PokerStars.appendHand(sb, strength).append(")\n");
+    }
+
+    @Override
+    public void award(int seat, int amount){
+        won[seat] += amount;
+        sb.append(names[seat]).append(" collected $").append(amount).append(" from pot\n");
+    }
+
+    @Override
+    public void endHand(){
+        int pot = 0;
+        for(int i = 0; i < seats; i++){
+            pot += won[i];
+        }
+        sb.append("*** SUMMARY ***\n");
+        sb.append("Total pot $").append(pot).append(" | Rake $0\n");
+        if(!board.isEmpty()){
+            sb.append("Board [");
+            appendCards(board).append("]\n");
+        }
+        for(int i = 0; i < seats; i++){
+            if(chips[i] + invested[i] == 0){
+                continue;
+            }
+            sb.append("Seat ").append(i + 1).append(": ").append(names[i]);
+            if(i == dealerSeat) sb.append(" (button)");
+            if(i == smallBlindSeat) sb.append(" (small blind)");
+            if(i == bigBlindSeat) sb.append(" (big blind)");
+            if(foldedOn[i] != null){
+                if(foldedOn[i] == PHASE.PRE_FLOP){
+                    sb.append(" folded before Flop");
+                    if(invested[i] == 0) sb.append(" (didn't bet)");
+                } else {
+                    sb.append(" folded on the ").append(STREET_NAMES[foldedOn[i].ordinal()]);
+                }
+            } else if(strengths[i] >= 0){
+                sb.append(" showed ");
+                appendHole(i);
+                if(won[i] > 0){
+                    sb.append(" and won ($").append(won[i]).append(") with ");
+                } else {
+                    sb.append(" and lost with ");
+                }
+                PokerStars.appendHand(sb, strengths[i]);
+            } else if(won[i] > 0){
+                sb.append(" collected ($").append(won[i]).append(')');
+            }
+            sb.append('\n');
+        }
+        sb.append("\n\n");
+        encode();
+    }
+
+    /**
+     * Writes all finished hands to the channel
+     */
+    public void flush(){
+        try{
+            drain();
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException{
+        drain();
+        channel.close();
+    }
+
+    private void pay(int seat, int amount){
+        chips[seat] -= amount;
+        invested[seat] += amount;
+    }
+
+    private StringBuilder allIn(int seat){
+        return chips[seat] == 0 ? sb.append(" and is all-in") : sb;
+    }
+
+    private StringBuilder appendHole(int seat){
+        sb.append('[');
+        PokerStars.appendCard(sb, holes[2 * seat]).append(' ');
+        return PokerStars.appendCard(sb, holes[2 * seat + 1]).append(']');
+    }
+
+    private StringBuilder appendCards(List<Card> cards){
+        for(int i = 0; i < cards.size(); i++){
+            if(i > 0) sb.append(' ');
+            PokerStars.appendCard(sb, cards.get(i));
+        }
+        return sb;
+    }
+
+    private String date(){
+        long now = System.currentTimeMillis();
+        long second = now / 1000;
+        if(second != dateSecond){
+            dateSecond = second;
+            dateText = DATE.format(Instant.ofEpochSecond(second));
+        }
+        return dateText;
+    }
+
+    /**
+     * Encodes the finished hand into the output buffer, writing the buffer out whenever it fills
+     */
+    private void encode(){
+        CharBuffer in = CharBuffer.wrap(sb);
+        encoder.reset();
+        try{
+            while(true){
+                CoderResult result = encoder.encode(in, out, true);
+                if(result.isOverflow()){
+                    drain();
+                } else if(result.isUnderflow()){
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+            while(encoder.flush(out).isOverflow()){
+                drain();
+            }
+        } catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void drain() throws IOException{
+        out.flip();
+        while(out.hasRemaining()){
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
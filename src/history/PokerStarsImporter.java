@@ -0,0 +1,674 @@
+package history;
+
+import cards.Card;
+import game.ACTION;
+import game.HandEvaluator;
+import game.PHASE;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads PokerStars text hand histories (as written by PokerStarsExporter or by the
+ * PokerStars client) into RecordedHand.
+ *
+ * The file is memory-mapped in windows of up to 1 GB that end on hand boundaries, and
+ * parsed straight from the mapped bytes: lines are matched against byte prefixes and
+ * player names, and amounts and cards are decoded in place, so the only Strings created
+ * are the seat names. parallelStream() splits the file at "PokerStars " hand headers so
+ * every core parses its own slice.
+ *
+ * Seats are numbered in the order the header lists them. Amounts are multiplied by
+ * amountScale: 1 keeps whole chips (tournaments, our own exports), 100 turns cash-game
+ * dollars into cents. Shown hole cards get their HandEvaluator strength when the board is
+ * complete. Lines the parser doesn't know are skipped.
+ */
+public class PokerStarsImporter implements Closeable{
+    private static final long MAX_WINDOW = 1L << 30;
+    private static final ZoneId EASTERN = ZoneId.of("America/New_York");
+
+    private static final byte[] HAND_START = bytes("PokerStars ");
+    private static final byte[] TABLE = bytes("Table '");
+    private static final byte[] SEAT = bytes("Seat ");
+    private static final byte[] BUTTON = bytes("Seat #");
+    private static final byte[] STARS = bytes("*** ");
+    private static final byte[] FLOP = bytes("*** FLOP");
+    private static final byte[] TURN = bytes("*** TURN");
+    private static final byte[] RIVER = bytes("*** RIVER");
+    private static final byte[] SUMMARY = bytes("*** SUMMARY");
+    private static final byte[] DEALT_TO = bytes("Dealt to ");
+    private static final byte[] UNCALLED = bytes("Uncalled bet (");
+    private static final byte[] RETURNED_TO = bytes(") returned to ");
+    private static final byte[] TOTAL_POT = bytes("Total pot ");
+    private static final byte[] RAKE = bytes("Rake ");
+    private static final byte[] IN_CHIPS = bytes(" in chips");
+    private static final byte[] COLON = bytes(": ");
+    private static final byte[] COLLECTED = bytes(" collected ");
+    private static final byte[] SIDE_POT = bytes("side pot");
+    private static final byte[] FOLDS = bytes("folds");
+    private static final byte[] CHECKS = bytes("checks");
+    private static final byte[] CALLS = bytes("calls ");
+    private static final byte[] BETS = bytes("bets ");
+    private static final byte[] RAISES = bytes("raises ");
+    private static final byte[] TO = bytes(" to ");
+    private static final byte[] ALL_IN = bytes("all-in");
+    private static final byte[] POSTS_SMALL = bytes("posts small blind ");
+    private static final byte[] POSTS_BIG = bytes("posts big blind ");
+    private static final byte[] POSTS_BOTH = bytes("posts small & big blinds ");
+    private static final byte[] SHOWS = bytes("shows [");
+    private static final byte[] SHOWED = bytes("showed [");
+    private static final byte[] MUCKED = bytes("mucked [");
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] windows;
+    private final long[] windowStart;
+    private final long size;
+    private final int amountScale;
+
+    public PokerStarsImporter(Path file) throws IOException{
+        this(file, 1);
+    }
+
+    /**
+     * @param amountScale factor applied to every amount (100 reads $0.25 as 25)
+     */
+    public PokerStarsImporter(Path file, int amountScale) throws IOException{
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.amountScale = amountScale;
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        List<Long> starts = new ArrayList<>();
+        long fileSize = channel.size();
+        long start = 0;
+        while(start < fileSize){
+            long length = Math.min(MAX_WINDOW, fileSize - start);
+            MappedByteBuffer w = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            if(start + length < fileSize){
+                // end the window at the last hand header so no hand straddles two windows
+                int cut = lastHandStart(w, (int)length);
+                if(cut > 0){
+                    length = cut;
+                    w = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                }
+            }
+            mapped.add(w);
+            starts.add(start);
+            start += length;
+        }
+        this.windows = mapped.toArray(new MappedByteBuffer[0]);
+        this.windowStart = new long[starts.size() + 1];
+        for(int i = 0; i < starts.size(); i++){
+            windowStart[i] = starts.get(i);
+        }
+        windowStart[starts.size()] = fileSize;
+        this.size = fileSize;
+    }
+
+    public Stream<RecordedHand> stream(){
+        return StreamSupport.stream(new HandSpliterator(0, size), false);
+    }
+
+    /**
+     * Parallel stream over all hands; the file is split between hands
+     */
+    public Stream<RecordedHand> parallelStream(){
+        return StreamSupport.stream(new HandSpliterator(0, size), true);
+    }
+
+    /**
+     * Closes the file. The mappings themselves are released by the garbage collector.
+     */
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+
+    private int window(long position){
+        int i = Arrays.binarySearch(windowStart, position);
+        return i >= 0 ? Math.min(i, windows.length - 1) : -i - 2;
+    }
+
+    /**
+     * Hands whose header starts in [from, to) of the file, split at hand headers
+     */
+    private final class HandSpliterator implements Spliterator<RecordedHand>{
+        private long from;
+        private final long to;
+        private Parser parser;
+
+        HandSpliterator(long from, long to){
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super RecordedHand> action){
+            while(from < to){
+                int w = window(from);
+                if(parser == null || parser.buf != windows[w]){
+                    parser = new Parser(windows[w], amountScale);
+                }
+                int base = (int)(from - windowStart[w]);
+                int limit = (int)(Math.min(to, windowStart[w + 1]) - windowStart[w]);
+                int start = nextHandStart(windows[w], base, limit);
+                if(start < 0){
+                    from = windowStart[w] + limit;
+                    continue;
+                }
+                int end = nextHandStart(windows[w], start + 1, windows[w].capacity());
+                if(end < 0) end = windows[w].capacity();
+                from = windowStart[w] + end;
+                RecordedHand hand = parser.parse(start, end);
+                if(hand != null){
+                    action.accept(hand);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Spliterator<RecordedHand> trySplit(){
+            long mid = (from + to) >>> 1;
+            if(to - from < 1 << 16){
+                return null;
+            }
+            // split at the start of the window holding mid, or at the first hand after mid
+            int w = window(mid);
+            long split = windowStart[w];
+            if(split <= from){
+                int limit = (int)(windowStart[w + 1] - windowStart[w]);
+                int start = nextHandStart(windows[w], (int)(mid - split), limit);
+                if(start < 0){
+                    return null;
+                }
+                split += start;
+            }
+            if(split <= from || split >= to){
+                return null;
+            }
+            HandSpliterator prefix = new HandSpliterator(from, split);
+            from = split;
+            parser = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize(){
+            return (to - from) / 1500; // rough bytes per hand
+        }
+
+        @Override
+        public int characteristics(){
+            return ORDERED | NONNULL | IMMUTABLE;
+        }
+    }
+
+    /**
+     * Position of the first hand header at a line start in [from, limit), or -1
+     */
+    private static int nextHandStart(MappedByteBuffer b, int from, int limit){
+        for(int pos = from; pos < limit; pos++){
+            if((pos == 0 || b.get(pos - 1) == '\n') && startsWith(b, pos, limit, HAND_START)){
+                return pos;
+            }
+            int nl = indexOf(b, pos, limit, (byte)'\n');
+            if(nl < 0){
+                return -1;
+            }
+            pos = nl;
+        }
+        return -1;
+    }
+
+    private static int lastHandStart(MappedByteBuffer b, int limit){
+        for(int pos = limit - HAND_START.length; pos > 0; pos--){
+            if(b.get(pos - 1) == '\n' && startsWith(b, pos, limit, HAND_START)){
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parses single hands out of one window; keeps per-hand scratch state between hands
+     */
+    private static final class Parser{
+        final MappedByteBuffer buf;
+        private final int scale;
+        private int cursor;     // position after the last parsed amount or card
+
+        // header seats, until the RecordedHand is created
+        private final List<String> names = new ArrayList<>();
+        private final List<byte[]> nameBytes = new ArrayList<>();
+        private final int[] seatNumbers = new int[10];
+        private final int[] chips = new int[10];
+        private final int[] roundBets = new int[10];
+        private final boolean[] shown = new boolean[10];
+
+        Parser(MappedByteBuffer buf, int scale){
+            this.buf = buf;
+            this.scale = scale;
+        }
+
+        /**
+         * Parses the hand in [start, end), or returns null if it has no seats
+         */
+        RecordedHand parse(int start, int end){
+            names.clear();
+            nameBytes.clear();
+            Arrays.fill(roundBets, 0);
+            RecordedHand hand = null;
+            long handNumber = 0;
+            long time = 0;
+            int smallBlind = 0;
+            int bigBlind = 0;
+            int buttonNumber = -1;
+            PHASE street = PHASE.PRE_FLOP;
+            boolean summary = false;
+            int currentBet = 0;
+            List<Card> board = new ArrayList<>(5);
+
+            int ls = start;
+            while(ls < end){
+                int le = indexOf(buf, ls, end, (byte)'\n');
+                if(le < 0) le = end;
+                int lineEnd = le > ls && buf.get(le - 1) == '\r' ? le - 1 : le;
+
+                if(ls == start){
+                    handNumber = parseHandNumber(ls, lineEnd);
+                    time = parseTime(ls, lineEnd);
+                    int[] blinds = parseBlinds(ls, lineEnd);
+                    smallBlind = blinds[0];
+                    bigBlind = blinds[1];
+                } else if(hand == null && startsWith(buf, ls, lineEnd, TABLE)){
+                    int at = indexOf(buf, ls, lineEnd, BUTTON);
+                    if(at >= 0){
+                        buttonNumber = (int)parseNumber(at + BUTTON.length, lineEnd);
+                    }
+                } else if(hand == null && startsWith(buf, ls, lineEnd, SEAT)
+                          && indexOf(buf, ls, lineEnd, IN_CHIPS) >= 0 && names.size() < seatNumbers.length){
+                    parseSeat(ls, lineEnd);
+                } else if(summary){
+                    parseSummaryLine(hand, ls, lineEnd);
+                } else if(startsWith(buf, ls, lineEnd, STARS)){
+                    if(hand == null){
+                        hand = newHand(handNumber, time, buttonNumber, smallBlind, bigBlind);
+                        if(hand == null) return null;
+                    }
+                    if(startsWith(buf, ls, lineEnd, FLOP) || startsWith(buf, ls, lineEnd, TURN)
+                       || startsWith(buf, ls, lineEnd, RIVER)){
+                        street = buf.get(ls + 4) == 'F' ? PHASE.FLOP : buf.get(ls + 4) == 'T' ? PHASE.TURN : PHASE.RIVER;
+                        parseBoard(board, ls, lineEnd);
+                        hand.setBoard(board);
+                        Arrays.fill(roundBets, 0);
+                        currentBet = 0;
+                    } else if(startsWith(buf, ls, lineEnd, SUMMARY)){
+                        summary = true;
+                    }
+                } else {
+                    if(hand == null){
+                        hand = newHand(handNumber, time, buttonNumber, smallBlind, bigBlind);
+                        if(hand == null) return null;
+                    }
+                    currentBet = parseEvent(hand, street, currentBet, ls, lineEnd);
+                }
+                ls = le + 1;
+            }
+            if(hand == null){
+                return null;
+            }
+            if(board.size() == 5){
+                long boardMask = 0L;
+                for(Card c : board) boardMask |= HandEvaluator.mask(c);
+                for(int seat = 0; seat < hand.getSeats(); seat++){
+                    List<Card> hole = hand.getHoleCards(seat);
+                    if(!hole.isEmpty() && hand.getStrength(seat) < 0 && shown[seat]){
+                        hand.setStrength(seat, HandEvaluator.strength(boardMask | HandEvaluator.toMask(hole)));
+                    }
+                }
+            }
+            return hand;
+        }
+
+        private RecordedHand newHand(long handNumber, long time, int buttonNumber, int smallBlind, int bigBlind){
+            int seats = names.size();
+            if(seats == 0){
+                return null;
+            }
+            int dealer = -1;
+            for(int i = 0; i < seats; i++){
+                if(seatNumbers[i] == buttonNumber) dealer = i;
+            }
+            RecordedHand hand = new RecordedHand(handNumber, time, dealer, smallBlind, bigBlind, seats);
+            for(int i = 0; i < seats; i++){
+                hand.setSeat(i, names.get(i), chips[i]);
+            }
+            Arrays.fill(shown, false);
+            return hand;
+        }
+
+        /**
+         * "Seat 3: Name ($1000 in chips)"
+         */
+        private void parseSeat(int ls, int le){
+            int number = (int)parseNumber(ls + SEAT.length, le);
+            int nameStart = cursor + 2; // past ": "
+            int open = lastIndexOf(buf, nameStart, indexOf(buf, nameStart, le, IN_CHIPS), (byte)'(');
+            if(open <= nameStart) return;
+            int seat = names.size();
+            byte[] name = new byte[open - 1 - nameStart];
+            buf.get(nameStart, name);
+            seatNumbers[seat] = number;
+            chips[seat] = parseAmount(open + 1, le);
+            names.add(new String(name, StandardCharsets.UTF_8));
+            nameBytes.add(name);
+        }
+
+        /**
+         * Lines between the header and the summary; returns the round's current bet
+         */
+        private int parseEvent(RecordedHand hand, PHASE street, int currentBet, int ls, int le){
+            if(startsWith(buf, ls, le, DEALT_TO)){
+                int seat = seatAt(ls + DEALT_TO.length, le);
+                if(seat >= 0) parseHole(hand, seat, cursor + 1, le);
+                return currentBet;
+            }
+            if(startsWith(buf, ls, le, UNCALLED)){
+                int amount = parseAmount(ls + UNCALLED.length, le);
+                int at = indexOf(buf, cursor, le, RETURNED_TO);
+                if(at >= 0){
+                    int seat = seatAt(at + RETURNED_TO.length, le);
+                    if(seat >= 0){
+                        hand.addReturned(seat, amount);
+                        roundBets[seat] -= amount;
+                    }
+                }
+                return currentBet;
+            }
+            int seat = seatAt(ls, le);
+            if(seat < 0){
+                return currentBet;
+            }
+            int pos = cursor;
+            if(startsWith(buf, pos, le, COLLECTED)){
+                hand.addAward(seat, parseAmount(pos + COLLECTED.length, le));
+                if(indexOf(buf, cursor, le, SIDE_POT) >= 0) hand.setSidePots(true);
+                return currentBet;
+            }
+            if(!startsWith(buf, pos, le, COLON)){
+                return currentBet;
+            }
+            pos += COLON.length;
+            boolean allIn = indexOf(buf, pos, le, ALL_IN) >= 0;
+            if(startsWith(buf, pos, le, FOLDS)){
+                hand.addAction(new RecordedAction(street, seat, ACTION.FOLD, 0, roundBets[seat]));
+            } else if(startsWith(buf, pos, le, CHECKS)){
+                hand.addAction(new RecordedAction(street, seat, ACTION.CHECK, 0, roundBets[seat]));
+            } else if(startsWith(buf, pos, le, CALLS)){
+                int amount = parseAmount(pos + CALLS.length, le);
+                roundBets[seat] += amount;
+                hand.addAction(new RecordedAction(street, seat, allIn ? ACTION.ALL_IN : ACTION.CALL, amount, roundBets[seat]));
+            } else if(startsWith(buf, pos, le, BETS)){
+                int amount = parseAmount(pos + BETS.length, le);
+                roundBets[seat] += amount;
+                currentBet = roundBets[seat];
+                hand.addAction(new RecordedAction(street, seat, allIn ? ACTION.ALL_IN : ACTION.RAISE, amount, roundBets[seat]));
+            } else if(startsWith(buf, pos, le, RAISES)){
+                parseAmount(pos + RAISES.length, le);
+                int at = indexOf(buf, cursor, le, TO);
+                if(at >= 0){
+                    int total = parseAmount(at + TO.length, le);
+                    int amount = total - roundBets[seat];
+                    roundBets[seat] = total;
+                    currentBet = total;
+                    hand.addAction(new RecordedAction(street, seat, allIn ? ACTION.ALL_IN : ACTION.RAISE, amount, total));
+                }
+            } else if(startsWith(buf, pos, le, POSTS_SMALL) || startsWith(buf, pos, le, POSTS_BIG)){
+                boolean big = startsWith(buf, pos, le, POSTS_BIG);
+                int amount = parseAmount(pos + (big ? POSTS_BIG.length : POSTS_SMALL.length), le);
+                hand.setBlind(seat, amount);
+                roundBets[seat] += amount;
+                currentBet = Math.max(currentBet, roundBets[seat]);
+            } else if(startsWith(buf, pos, le, POSTS_BOTH)){
+                int amount = parseAmount(pos + POSTS_BOTH.length, le);
+                hand.setBlind(seat, amount);
+                roundBets[seat] += amount;
+                currentBet = Math.max(currentBet, roundBets[seat]);
+            } else if(startsWith(buf, pos, le, SHOWS)){
+                parseHole(hand, seat, pos + SHOWS.length - 1, le);
+                shown[seat] = true;
+            }
+            return currentBet;
+        }
+
+        /**
+         * Summary lines: rake, and hole cards of hands shown or mucked
+         */
+        private void parseSummaryLine(RecordedHand hand, int ls, int le){
+            if(hand == null){
+                return;
+            }
+            if(startsWith(buf, ls, le, TOTAL_POT)){
+                int at = indexOf(buf, ls, le, RAKE);
+                if(at >= 0) hand.setRake(parseAmount(at + RAKE.length, le));
+                return;
+            }
+            if(!startsWith(buf, ls, le, SEAT)){
+                return;
+            }
+            int showed = indexOf(buf, ls, le, SHOWED);
+            int mucked = indexOf(buf, ls, le, MUCKED);
+            int at = showed >= 0 ? showed + SHOWED.length - 1 : mucked >= 0 ? mucked + MUCKED.length - 1 : -1;
+            if(at < 0){
+                return;
+            }
+            parseNumber(ls + SEAT.length, le);
+            int seat = seatAt(cursor + 2, le);
+            if(seat >= 0 && hand.getHoleCards(seat).isEmpty()){
+                parseHole(hand, seat, at, le);
+                shown[seat] = true;
+            }
+        }
+
+        /**
+         * Seat whose name starts at pos (longest match), leaving cursor just after the name; -1 if none
+         */
+        private int seatAt(int pos, int le){
+            int best = -1;
+            int bestLength = -1;
+            for(int i = 0; i < nameBytes.size(); i++){
+                byte[] name = nameBytes.get(i);
+                if(name.length > bestLength && startsWith(buf, pos, le, name)){
+                    best = i;
+                    bestLength = name.length;
+                }
+            }
+            cursor = pos + bestLength;
+            return best;
+        }
+
+        /**
+         * "[Ah Kd]" at pos
+         */
+        private void parseHole(RecordedHand hand, int seat, int pos, int le){
+            if(pos + 6 > le || buf.get(pos) != '[') return;
+            int a = PokerStars.cardCode((char)buf.get(pos + 1), (char)buf.get(pos + 2));
+            int b = PokerStars.cardCode((char)buf.get(pos + 4), (char)buf.get(pos + 5));
+            if(a >= 0 && b >= 0){
+                hand.setHoleCards(seat, Card.of(a), Card.of(b));
+            }
+        }
+
+        /**
+         * Every card inside the brackets of a street line, e.g. "*** TURN *** [Qc 9d Ah] [5h]"
+         */
+        private void parseBoard(List<Card> board, int ls, int le){
+            board.clear();
+            boolean inside = false;
+            for(int pos = ls; pos < le; pos++){
+                byte c = buf.get(pos);
+                if(c == '['){
+                    inside = true;
+                } else if(c == ']'){
+                    inside = false;
+                } else if(inside && c != ' ' && pos + 1 < le){
+                    int code = PokerStars.cardCode((char)c, (char)buf.get(pos + 1));
+                    if(code >= 0){
+                        board.add(Card.of(code));
+                        pos++;
+                    }
+                }
+            }
+        }
+
+        private long parseHandNumber(int ls, int le){
+            int hash = indexOf(buf, ls, le, (byte)'#');
+            return hash < 0 ? 0 : parseNumber(hash + 1, le);
+        }
+
+        /**
+         * First "(small/big" pair of amounts on the header line
+         */
+        private int[] parseBlinds(int ls, int le){
+            for(int pos = indexOf(buf, ls, le, (byte)'('); pos >= 0; pos = indexOf(buf, pos + 1, le, (byte)'(')){
+                int small = parseAmount(pos + 1, le);
+                if(cursor < le && buf.get(cursor) == '/' && cursor > pos + 1){
+                    return new int[]{small, parseAmount(cursor + 1, le)};
+                }
+            }
+            return new int[]{0, 0};
+        }
+
+        /**
+         * Last "yyyy/MM/dd H:mm:ss" on the header line (the ET one when a local time is
+         * listed first), read as Eastern time
+         */
+        private long parseTime(int ls, int le){
+            for(int pos = le - 17; pos > ls; pos--){
+                byte before = buf.get(pos - 1);
+                if((before == ' ' || before == '[') && isDigit(pos) && isDigit(pos + 3) && buf.get(pos + 4) == '/'){
+                    int year = (int)parseNumber(pos, le);
+                    int month = (int)parseNumber(cursor + 1, le);
+                    int day = (int)parseNumber(cursor + 1, le);
+                    int hour = (int)parseNumber(cursor + 1, le);
+                    int minute = (int)parseNumber(cursor + 1, le);
+                    int second = (int)parseNumber(cursor + 1, le);
+                    try{
+                        return LocalDateTime.of(year, month, day, hour, minute, second)
+                                .atZone(EASTERN).toInstant().toEpochMilli();
+                    } catch(RuntimeException e){
+                        return 0;
+                    }
+                }
+            }
+            return 0;
+        }
+
+        private boolean isDigit(int pos){
+            byte c = buf.get(pos);
+            return c >= '0' && c <= '9';
+        }
+
+        /**
+         * Digits at pos; cursor is left after them
+         */
+        private long parseNumber(int pos, int le){
+            long value = 0;
+            while(pos < le){
+                byte c = buf.get(pos);
+                if(c < '0' || c > '9') break;
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            cursor = pos;
+            return value;
+        }
+
+        /**
+         * "$1,234.56" or "1234" at pos, times the amount scale; cursor is left after it
+         */
+        private int parseAmount(int pos, int le){
+            if(pos < le && buf.get(pos) == '$') pos++;
+            long whole = 0;
+            while(pos < le){
+                byte c = buf.get(pos);
+                if(c >= '0' && c <= '9'){
+                    whole = whole * 10 + (c - '0');
+                } else if(c != ','){
+                    break;
+                }
+                pos++;
+            }
+            long value = whole * scale;
+            if(pos + 1 < le && buf.get(pos) == '.' && buf.get(pos + 1) >= '0' && buf.get(pos + 1) <= '9'){
+                pos++;
+                long fraction = 0;
+                long digits = 1;
+                while(pos < le && buf.get(pos) >= '0' && buf.get(pos) <= '9'){
+                    fraction = fraction * 10 + (buf.get(pos) - '0');
+                    digits *= 10;
+                    pos++;
+                }
+                value += fraction * scale / digits;
+            }
+            cursor = pos;
+            return (int)value;
+        }
+    }
+
+    private static byte[] bytes(String s){
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(MappedByteBuffer b, int pos, int limit, byte[] prefix){
+        if(pos + prefix.length > limit){
+            return false;
+        }
+        for(int i = 0; i < prefix.length; i++){
+            if(b.get(pos + i) != prefix[i]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(MappedByteBuffer b, int from, int limit, byte value){
+        for(int pos = from; pos < limit; pos++){
+            if(b.get(pos) == value){
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(MappedByteBuffer b, int from, int limit, byte[] pattern){
+        for(int pos = from; pos + pattern.length <= limit; pos++){
+            if(startsWith(b, pos, limit, pattern)){
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(MappedByteBuffer b, int from, int limit, byte value){
+        for(int pos = limit - 1; pos >= from; pos--){
+            if(b.get(pos) == value){
+                return pos;
+            }
+        }
+        return -1;
+    }
+}
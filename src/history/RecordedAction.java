@@ -0,0 +1,54 @@
+package history;
+
+import game.ACTION;
+import game.PHASE;
+
+/**
+ * One betting action of a recorded hand
+ */
+public final class RecordedAction{
+    private final PHASE street;
+    private final int seat;
+    private final ACTION action;
+    private final int amount;
+    private final int roundBet;
+
+    public RecordedAction(PHASE street, int seat, ACTION action, int amount, int roundBet){
+        this.street = street;
+        this.seat = seat;
+        this.action = action;
+        this.amount = amount;
+        this.roundBet = roundBet;
+    }
+
+    public PHASE getStreet(){
+        return street;
+    }
+
+    public int getSeat(){
+        return seat;
+    }
+
+    public ACTION getAction(){
+        return action;
+    }
+
+    /**
+     * Chips this action put into the pot
+     */
+    public int getAmount(){
+        return amount;
+    }
+
+    /**
+     * The player's total bet in this betting round after the action
+     */
+    public int getRoundBet(){
+        return roundBet;
+    }
+
+    @Override
+    public String toString(){
+        return street + " seat " + seat + " " + action + (amount > 0 ? " $" + amount : "");
+    }
+}
@@ -0,0 +1,245 @@
+package history;
+
+import cards.Card;
+import game.PHASE;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import players.Player;
+
+/**
+ * One hand read back from a hand history: seats, blinds, hole cards, actions,
+ * board, showdown strengths and awards. Seats are indexes as in table.getPlayers().
+ */
+public final class RecordedHand{
+    private final long handNumber;
+    private final long time;
+    private final int dealerSeat;
+    private final int smallBlind;
+    private final int bigBlind;
+    private final String[] names;
+    private final int[] startingChips;
+    private final int[] blinds;
+    private final Card[] holeCards;     // [2 * seat], [2 * seat + 1]; null if not known
+    private final int[] strengths;      // -1 if the seat did not show down
+    private final int[] awards;
+    private final int[] returned;       // uncalled bets given back
+    private int rake;
+    private boolean sidePots;
+    private final List<RecordedAction> actions = new ArrayList<>();
+    private final List<Card> board = new ArrayList<>(5);
+
+    RecordedHand(long handNumber, long time, int dealerSeat, int smallBlind, int bigBlind, int seats){
+        this.handNumber = handNumber;
+        this.time = time;
+        this.dealerSeat = dealerSeat;
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+        this.names = new String[seats];
+        this.startingChips = new int[seats];
+        this.blinds = new int[seats];
+        this.holeCards = new Card[2 * seats];
+        this.strengths = new int[seats];
+        this.awards = new int[seats];
+        this.returned = new int[seats];
+        Arrays.fill(strengths, -1);
+    }
+
+    void setSeat(int seat, String name, int chips){
+        names[seat] = name;
+        startingChips[seat] = chips;
+    }
+
+    void setBlind(int seat, int amount){
+        blinds[seat] += amount;
+    }
+
+    void setHoleCards(int seat, Card first, Card second){
+        holeCards[2 * seat] = first;
+        holeCards[2 * seat + 1] = second;
+    }
+
+    void addAction(RecordedAction action){
+        actions.add(action);
+    }
+
+    void setBoard(List<Card> cards){
+        board.clear();
+        board.addAll(cards);
+    }
+
+    void addBoardCard(Card c){
+        board.add(c);
+    }
+
+    void setStrength(int seat, int strength){
+        strengths[seat] = strength;
+    }
+
+    void addAward(int seat, int amount){
+        awards[seat] += amount;
+    }
+
+    void addReturned(int seat, int amount){
+        returned[seat] += amount;
+    }
+
+    void setRake(int rake){
+        this.rake = rake;
+    }
+
+    void setSidePots(boolean sidePots){
+        this.sidePots = sidePots;
+    }
+
+    public long getHandNumber(){
+        return handNumber;
+    }
+
+    /**
+     * Start of the hand in epoch milliseconds
+     */
+    public long getTime(){
+        return time;
+    }
+
+    public int getDealerSeat(){
+        return dealerSeat;
+    }
+
+    public int getSmallBlind(){
+        return smallBlind;
+    }
+
+    public int getBigBlind(){
+        return bigBlind;
+    }
+
+    public int getSeats(){
+        return names.length;
+    }
+
+    public String getName(int seat){
+        return names[seat];
+    }
+
+    /**
+     * Chips the seat had before posting blinds
+     */
+    public int getStartingChips(int seat){
+        return startingChips[seat];
+    }
+
+    /**
+     * Blind the seat posted, 0 if none
+     */
+    public int getBlind(int seat){
+        return blinds[seat];
+    }
+
+    /**
+     * The seat's two hole cards, or an empty list if they are unknown
+     */
+    public List<Card> getHoleCards(int seat){
+        Card first = holeCards[2 * seat];
+        Card second = holeCards[2 * seat + 1];
+        if(first == null || second == null){
+            return Collections.emptyList();
+        }
+        return List.of(first, second);
+    }
+
+    public List<RecordedAction> getActions(){
+        return Collections.unmodifiableList(actions);
+    }
+
+    public List<Card> getBoard(){
+        return Collections.unmodifiableList(board);
+    }
+
+    /**
+     * Final street reached: PRE_FLOP with no board, otherwise FLOP, TURN or RIVER
+     */
+    public PHASE getLastStreet(){
+        switch(board.size()){
+            case 0: return PHASE.PRE_FLOP;
+            case 3: return PHASE.FLOP;
+            case 4: return PHASE.TURN;
+            default: return PHASE.RIVER;
+        }
+    }
+
+    /**
+     * Showdown strength (HandEvaluator.strength) of the seat, -1 if it did not show down
+     */
+    public int getStrength(int seat){
+        return strengths[seat];
+    }
+
+    public int getAward(int seat){
+        return awards[seat];
+    }
+
+    /**
+     * Chips taken out of the pot by the house (imported histories; always 0 for GameEngine)
+     */
+    public int getRake(){
+        return rake;
+    }
+
+    /**
+     * True if the pot was split into side pots (imported histories only)
+     */
+    public boolean hasSidePots(){
+        return sidePots;
+    }
+
+    /**
+     * Chips the seat put in during the hand, blinds included, less any uncalled bet returned
+     */
+    public int getInvested(int seat){
+        int total = blinds[seat] - returned[seat];
+        for(RecordedAction a : actions){
+            if(a.getSeat() == seat){
+                total += a.getAmount();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Chips won (positive) or lost (negative) by the seat in this hand
+     */
+    public int getNet(int seat){
+        return awards[seat] - getInvested(seat);
+    }
+
+    public int getPot(){
+        int pot = 0;
+        for(int award : awards){
+            pot += award;
+        }
+        return pot;
+    }
+
+    /**
+     * The seats as Players, with their starting chips and known hole cards
+     */
+    public List<Player> toPlayers(){
+        List<Player> players = new ArrayList<>(names.length);
+        for(int seat = 0; seat < names.length; seat++){
+            Player p = new Player(names[seat], startingChips[seat]);
+            for(Card c : getHoleCards(seat)){
+                p.giveCard(c);
+            }
+            players.add(p);
+        }
+        return players;
+    }
+
+    @Override
+    public String toString(){
+        return "Hand #" + handNumber + " (" + names.length + " seats, pot $" + getPot() + ", board " + board + ")";
+    }
+}
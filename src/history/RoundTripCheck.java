@@ -0,0 +1,194 @@
+package history;
+
+import cards.Card;
+import cards.Deck;
+import game.ACTION;
+import game.GameEngine;
+import game.HandRecorder;
+import game.PHASE;
+import game.Table;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import sim.RandomDecider;
+
+/**
+ * Round trip of the hand history formats: plays seeded bot games recording to a HandLogWriter
+ * and a PokerStarsExporter at once, re-imports the text with PokerStarsImporter and compares
+ * every hand with the binary log (board, pot, and each player's stack, chips put in and award),
+ * then checks it with HandReplay.validate.
+ *
+ * The exporter leaves busted seats out, so players are matched by name.
+ * Prints the first problems found and exits with status 1 if there are any.
+ *
+ * java -cp class history.RoundTripCheck [games] [handsPerGame]
+ */
+public final class RoundTripCheck{
+    private static final int MAX_REPORTED = 20;
+
+    private RoundTripCheck(){ }
+
+    public static void main(String[] args) throws IOException{
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int hands = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Path log = Files.createTempFile("roundtrip", ".hhl");
+        Path text = Files.createTempFile("roundtrip", ".txt");
+        Files.delete(log); // the writer adds the log header to a new file only
+        try{
+            long played = 0;
+            try(HandLogWriter writer = new HandLogWriter(log);
+                PokerStarsExporter exporter = new PokerStarsExporter(text, "Round trip", 0)){
+                for(int game = 0; game < games; game++){
+                    GameEngine engine = new GameEngine(new Deck(game));
+                    engine.setNumberOfPlayers(6);
+                    engine.setDecider(new RandomDecider(game));
+                    engine.setVerbose(false);
+                    engine.setRecorder(new Both(writer, exporter));
+                    played += engine.runHeadless(hands);
+                }
+            }
+
+            long checked = 0;
+            int problems = 0;
+            try(HandLogReader reader = new HandLogReader(log);
+                PokerStarsImporter importer = new PokerStarsImporter(text)){
+                Iterator<RecordedHand> expected = reader.stream().iterator();
+                Iterator<RecordedHand> imported = importer.stream().iterator();
+                while(expected.hasNext() || imported.hasNext()){
+                    if(!expected.hasNext() || !imported.hasNext()){
+                        System.out.println("Hand counts differ: " + reader.count() + " logged, "
+                                           + (checked + (imported.hasNext() ? 1 : 0)) + "+ imported");
+                        problems++;
+                        break;
+                    }
+                    RecordedHand hand = imported.next();
+                    List<String> found = compare(expected.next(), hand);
+                    found.addAll(HandReplay.validate(hand));
+                    for(String problem : found){
+                        if(problems++ < MAX_REPORTED){
+                            System.out.println(hand + ": " + problem);
+                        }
+                    }
+                    checked++;
+                }
+            }
+            System.out.println(played + " hands played, " + checked + " re-imported, " + problems + " problems");
+            if(problems > 0){
+                System.exit(1);
+            }
+        } finally{
+            Files.deleteIfExists(log);
+            Files.deleteIfExists(text);
+        }
+    }
+
+    /**
+     * Differences between a logged hand and its exported and re-imported twin
+     */
+    static List<String> compare(RecordedHand logged, RecordedHand imported){
+        List<String> problems = new ArrayList<>();
+        if(logged.getHandNumber() != imported.getHandNumber()){
+            problems.add("hand number " + imported.getHandNumber() + ", logged " + logged.getHandNumber());
+        }
+        if(!logged.getBoard().equals(imported.getBoard())){
+            problems.add("board " + imported.getBoard() + ", logged " + logged.getBoard());
+        }
+        if(logged.getPot() != imported.getPot()){
+            problems.add("pot $" + imported.getPot() + ", logged $" + logged.getPot());
+        }
+        int seated = 0;
+        for(int seat = 0; seat < logged.getSeats(); seat++){
+            if(logged.getStartingChips(seat) > 0) seated++;
+        }
+        if(seated != imported.getSeats()){
+            problems.add(imported.getSeats() + " seats, logged " + seated + " with chips");
+        }
+        for(int seat = 0; seat < imported.getSeats(); seat++){
+            String name = imported.getName(seat);
+            int at = seatOf(logged, name);
+            if(at < 0){
+                problems.add(name + " is not in the log");
+                continue;
+            }
+            if(logged.getStartingChips(at) != imported.getStartingChips(seat)
+               || logged.getInvested(at) != imported.getInvested(seat)
+               || logged.getAward(at) != imported.getAward(seat)){
+                problems.add(name + " started $" + imported.getStartingChips(seat) + ", put in $"
+                             + imported.getInvested(seat) + ", won $" + imported.getAward(seat) + "; logged $"
+                             + logged.getStartingChips(at) + ", $" + logged.getInvested(at) + ", $" + logged.getAward(at));
+            }
+        }
+        return problems;
+    }
+
+    private static int seatOf(RecordedHand hand, String name){
+        for(int seat = 0; seat < hand.getSeats(); seat++){
+            if(hand.getName(seat).equals(name)) return seat;
+        }
+        return -1;
+    }
+
+    /**
+     * Passes every event to two recorders
+     */
+    private static final class Both implements HandRecorder{
+        private final HandRecorder first;
+        private final HandRecorder second;
+
+        Both(HandRecorder first, HandRecorder second){
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void startHand(long handNumber, Table table, int dealerSeat){
+            first.startHand(handNumber, table, dealerSeat);
+            second.startHand(handNumber, table, dealerSeat);
+        }
+
+        @Override
+        public void blind(int seat, int amount, boolean bigBlind){
+            first.blind(seat, amount, bigBlind);
+            second.blind(seat, amount, bigBlind);
+        }
+
+        @Override
+        public void holeCards(int seat, Card firstCard, Card secondCard){
+            first.holeCards(seat, firstCard, secondCard);
+            second.holeCards(seat, firstCard, secondCard);
+        }
+
+        @Override
+        public void action(int seat, ACTION action, int amount, int roundBet){
+            first.action(seat, action, amount, roundBet);
+            second.action(seat, action, amount, roundBet);
+        }
+
+        @Override
+        public void board(PHASE street, List<Card> board){
+            first.board(street, board);
+            second.board(street, board);
+        }
+
+        @Override
+        public void showdown(int seat, int strength){
+            first.showdown(seat, strength);
+            second.showdown(seat, strength);
+        }
+
+        @Override
+        public void award(int seat, int amount){
+            first.award(seat, amount);
+            second.award(seat, amount);
+        }
+
+        @Override
+        public void endHand(){
+            first.endHand();
+            second.endHand();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package sim;
+
+import cards.*;
+import game.CheckHand;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Monte Carlo equity calculator.
+ *
+ * Samples random runouts of the board for known hole cards and counts who wins each showdown.
+ * The samples are split across a ForkJoinPool; every leaf task owns its own SplittableRandom
+ * (split from the parent, so a seeded calculator is reproducible) and its own EquityTally,
+ * and the tallies are merged as the tasks join.
+ *
+ * Ranking uses CheckHand.strengthsOf, i.e. the same strengths GameEngine uses at showdown.
+ */
+public class EquityCalculator{
+    // smallest number of samples worth handing to a separate task
+    private static final int MIN_LEAF_SAMPLES = 4096;
+
+    private final ForkJoinPool pool;
+    private final SplittableRandom seedSource;
+
+    public EquityCalculator(){
+        this(ForkJoinPool.commonPool(), new SplittableRandom());
+    }
+
+    /**
+     * Reproducible calculator: the same seed and query always give the same result
+     */
+    public EquityCalculator(long seed){
+        this(ForkJoinPool.commonPool(), new SplittableRandom(seed));
+    }
+
+    public EquityCalculator(ForkJoinPool pool, SplittableRandom seedSource){
+        this.pool = pool;
+        this.seedSource = seedSource;
+    }
+
+    /**
+     * Equity of each player for the given hole cards on an empty board
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, int samples){
+        return calculate(holeCards, Collections.emptyList(), Collections.emptyList(), samples);
+    }
+
+    /**
+     * Equity of each player
+     * @param holeCards two known cards per player
+     * @param board community cards already dealt (0-5)
+     * @param dead cards known to be out of the deck (burned, folded, ...)
+     * @param samples number of random runouts to play out
+     */
+    public EquityResult calculate(List<List<Card>> holeCards, List<Card> board, List<Card> dead, int samples){
+        EquitySpot spot = new EquitySpot(holeCards, board, dead);
+        if(spot.missing() == 0){
+            // nothing left to deal - one showdown decides it
+            EquityTally tally = new EquityTally(spot.holes.length);
+            int[] strengths = new int[spot.holes.length];
+            CheckHand.strengthsOf(spot.board, spot.holes, spot.holes.length, strengths);
+            tally.record(strengths, spot.holes.length, 1);
+            return tally.toResult();
+        }
+        SplittableRandom rng;
+        synchronized(seedSource){
+            rng = seedSource.split();
+        }
+        int leafSize = Math.max(MIN_LEAF_SAMPLES, samples / (pool.getParallelism() * 8));
+        return pool.invoke(new SampleTask(spot, samples, leafSize, rng)).toResult();
+    }
+
+    /**
+     * Plays out a block of samples, splitting itself while the block is large
+     */
+    private static final class SampleTask extends RecursiveTask<EquityTally>{
+        private final EquitySpot spot;
+        private final int samples;
+        private final int leafSize;
+        private final SplittableRandom rng;
+
+        SampleTask(EquitySpot spot, int samples, int leafSize, SplittableRandom rng){
+            this.spot = spot;
+            this.samples = samples;
+            this.leafSize = leafSize;
+            this.rng = rng;
+        }
+
+        @Override
+        protected EquityTally compute(){
+            if(samples > leafSize){
+                int half = samples / 2;
+                SampleTask left = new SampleTask(spot, half, leafSize, rng.split());
+                SampleTask right = new SampleTask(spot, samples - half, leafSize, rng.split());
+                left.fork();
+                EquityTally tally = right.compute();
+                return tally.merge(left.join());
+            }
+            return sample();
+        }
+
+        /**
+         * Leaf: partial Fisher-Yates over a private copy of the remaining cards per sample
+         */
+        private EquityTally sample(){
+            int players = spot.holes.length;
+            int missing = spot.missing();
+            int[] deck = spot.remaining.clone();
+            int[] strengths = new int[players];
+            EquityTally tally = new EquityTally(players);
+
+            for(int s = 0; s < samples; s++){
+                long board = spot.board;
+                for(int j = 0; j < missing; j++){
+                    int k = j + rng.nextInt(deck.length - j);
+                    int code = deck[k];
+                    deck[k] = deck[j];
+                    deck[j] = code;
+                    board |= 1L << code;
+                }
+                CheckHand.strengthsOf(board, spot.holes, players, strengths);
+                tally.record(strengths, players, 1);
+            }
+            return tally;
+        }
+    }
+}
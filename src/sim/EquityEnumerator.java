@@ -0,0 +1,201 @@
+package sim;
+
+import cards.*;
+import game.CheckHand;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exact equity by enumerating every remaining runout of the board.
+ *
+ * The runouts are drawn from the 52-card universe of cards.Deck minus every known card.
+ * Two suits are interchangeable when the known cards use them rank for rank alike: the same
+ * ranks in each player's hand, on the board and among the dead cards (suits no known card
+ * uses are the common case). Runouts that only differ by swapping interchangeable suits have
+ * identical showdowns, so only one canonical runout per such group is evaluated, weighted by
+ * the size of its group. Suits whose known ranks all differ (e.g. AcAs vs KhKd on a
+ * 2c 7h 9d flop) have no swap to exploit, and those runouts are all evaluated.
+ *
+ * The runout space is split across a ForkJoinPool by the first card dealt. Showdowns are
+ * ranked with CheckHand.strengthsOf and ties split like GameEngine.handleShowdown.
+ */
+public class EquityEnumerator{
+    private static final int[] FACTORIAL = {1, 1, 2, 6, 24};
+
+    private final ForkJoinPool pool;
+
+    public EquityEnumerator(){
+        this(ForkJoinPool.commonPool());
+    }
+
+    public EquityEnumerator(ForkJoinPool pool){
+        this.pool = pool;
+    }
+
+    /**
+     * Exact equity of each player with no dead cards
+     */
+    public EquityResult enumerate(List<List<Card>> holeCards, List<Card> board){
+        return enumerate(holeCards, board, Collections.emptyList());
+    }
+
+    /**
+     * Exact equity of each player
+     * @param holeCards two known cards per player
+     * @param board community cards already dealt (0-5)
+     * @param dead cards known to be out of the deck
+     */
+    public EquityResult enumerate(List<List<Card>> holeCards, List<Card> board, List<Card> dead){
+        EquitySpot spot = new EquitySpot(holeCards, board, dead);
+
+        // each suit points at the lowest suit it is interchangeable with
+        int[] suitClass = new int[4];
+        for(int s = 0; s < 4; s++){
+            suitClass[s] = s;
+            for(int t = 0; t < s; t++){
+                if(interchangeable(spot, s, t)){
+                    suitClass[s] = t;
+                    break;
+                }
+            }
+        }
+
+        int missing = spot.missing();
+        int firstCards = missing == 0 ? 1 : spot.remaining.length - missing + 1;
+        return pool.invoke(new RunoutTask(spot, suitClass, 0, firstCards)).toResult();
+    }
+
+    /**
+     * True if swapping suits s and t maps every player's hand, the board and the dead cards onto themselves
+     */
+    private static boolean interchangeable(EquitySpot spot, int s, int t){
+        for(long hole : spot.holes){
+            if(slice(hole, s) != slice(hole, t)) return false;
+        }
+        return slice(spot.board, s) == slice(spot.board, t) && slice(spot.known, s) == slice(spot.known, t);
+    }
+
+    /**
+     * The 13-bit rank set of one suit in a HandEvaluator mask
+     */
+    private static int slice(long cards, int suit){
+        return (int)((cards >>> (13 * suit)) & 0x1FFF);
+    }
+
+    /**
+     * Enumerates all runouts whose first card index lies in [from, to)
+     */
+    private static final class RunoutTask extends RecursiveTask<EquityTally>{
+        private final EquitySpot spot;
+        private final int[] suitClass;
+        private final int from;
+        private final int to;
+
+        RunoutTask(EquitySpot spot, int[] suitClass, int from, int to){
+            this.spot = spot;
+            this.suitClass = suitClass;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected EquityTally compute(){
+            if(to - from > 1){
+                int mid = (from + to) >>> 1;
+                RunoutTask left = new RunoutTask(spot, suitClass, from, mid);
+                left.fork();
+                EquityTally tally = new RunoutTask(spot, suitClass, mid, to).compute();
+                return tally.merge(left.join());
+            }
+            return enumerateFrom(from);
+        }
+
+        /**
+         * Walks every combination of the remaining cards that starts at index first
+         */
+        private EquityTally enumerateFrom(int first){
+            int players = spot.holes.length;
+            int missing = spot.missing();
+            int[] deck = spot.remaining;
+            int[] strengths = new int[players];
+            int[] slices = new int[4];
+            EquityTally tally = new EquityTally(players);
+
+            if(missing == 0){
+                CheckHand.strengthsOf(spot.board, spot.holes, players, strengths);
+                tally.record(strengths, players, 1);
+                return tally;
+            }
+
+            int[] idx = new int[missing];
+            idx[0] = first;
+            for(int j = 1; j < missing; j++){
+                idx[j] = first + j;
+            }
+            while(true){
+                long runout = 0L;
+                for(int j = 0; j < missing; j++){
+                    runout |= 1L << deck[idx[j]];
+                }
+                int weight = canonicalWeight(runout, slices);
+                if(weight > 0){
+                    CheckHand.strengthsOf(spot.board | runout, spot.holes, players, strengths);
+                    tally.record(strengths, players, weight);
+                }
+
+                // next combination with the same first card
+                int j = missing - 1;
+                while(j > 0 && idx[j] == deck.length - missing + j){
+                    j--;
+                }
+                if(j == 0){
+                    break;
+                }
+                idx[j]++;
+                for(int k = j + 1; k < missing; k++){
+                    idx[k] = idx[k - 1] + 1;
+                }
+            }
+            return tally;
+        }
+
+        /**
+         * If the runout is the canonical member of its suit-swap group, returns the group size;
+         * otherwise returns 0 so the runout is skipped (its canonical twin carries the weight).
+         * Canonical means that within each class of interchangeable suits the runout's rank slices
+         * are in descending order by suit index.
+         */
+        private int canonicalWeight(long runout, int[] slices){
+            int weight = 1;
+            for(int c = 0; c < 4; c++){
+                if(suitClass[c] != c){
+                    continue; // counted with the suit that leads its class
+                }
+                int n = 0;
+                for(int s = c; s < 4; s++){
+                    if(suitClass[s] == c){
+                        int slice = slice(runout, s);
+                        if(n > 0 && slice > slices[n - 1]){
+                            return 0;
+                        }
+                        slices[n++] = slice;
+                    }
+                }
+                // class group size = n! / product of (count of identical slices)!
+                weight *= FACTORIAL[n];
+                int run = 1;
+                for(int i = 1; i <= n; i++){
+                    if(i < n && slices[i] == slices[i - 1]){
+                        run++;
+                    } else {
+                        weight /= FACTORIAL[run];
+                        run = 1;
+                    }
+                }
+            }
+            return weight;
+        }
+    }
+}
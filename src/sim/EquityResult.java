@@ -0,0 +1,45 @@
+package sim;
+
+/**
+ * Win / tie / equity figures for each player of an equity query.
+ *
+ * win and tie are probabilities (0..1) of winning outright and of splitting the pot.
+ * equity is the expected share of the pot, counting a split among k players as 1/k.
+ */
+public class EquityResult{
+    private final double[] win;
+    private final double[] tie;
+    private final double[] equity;
+    private final long samples;
+
+    public EquityResult(double[] win, double[] tie, double[] equity, long samples){
+        this.win = win;
+        this.tie = tie;
+        this.equity = equity;
+        this.samples = samples;
+    }
+
+    public int getPlayers(){ return equity.length; }
+
+    public double getWin(int player){ return win[player]; }
+
+    public double getTie(int player){ return tie[player]; }
+
+    public double getEquity(int player){ return equity[player]; }
+
+    /**
+     * Number of boards the figures are based on (sampled or enumerated)
+     */
+    public long getSamples(){ return samples; }
+
+    @Override
+    public String toString(){
+        StringBuilder sb = new StringBuilder();
+        for(int i = 0; i < equity.length; i++){
+            sb.append(String.format("Player %d: win %.2f%% tie %.2f%% equity %.2f%%%n",
+                    i + 1, win[i] * 100, tie[i] * 100, equity[i] * 100));
+        }
+        sb.append("(").append(samples).append(" boards)");
+        return sb.toString();
+    }
+}
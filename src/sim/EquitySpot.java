@@ -0,0 +1,63 @@
+package sim;
+
+import cards.*;
+import game.HandEvaluator;
+import java.util.List;
+
+/**
+ * Known cards of an equity query in HandEvaluator mask form:
+ * hole cards per player, the partial board, and the cards still left to deal from.
+ */
+final class EquitySpot{
+    final long[] holes;
+    final long board;
+    final int boardCount;
+    final long known;        // every hole, board and dead card
+    final int[] remaining;   // card codes not held, on the board or dead
+
+    EquitySpot(List<List<Card>> holeCards, List<Card> board, List<Card> dead){
+        if(holeCards.size() < 2){
+            throw new IllegalArgumentException("At least two players are needed");
+        }
+        if(board.size() > 5){
+            throw new IllegalArgumentException("Board can hold at most 5 cards");
+        }
+        long known = 0L;
+        holes = new long[holeCards.size()];
+        for(int i = 0; i < holes.length; i++){
+            List<Card> hand = holeCards.get(i);
+            if(hand.size() != 2){
+                throw new IllegalArgumentException("Player " + (i + 1) + " must hold exactly 2 cards");
+            }
+            holes[i] = HandEvaluator.toMask(hand);
+            known = addKnown(known, holes[i], 2);
+        }
+        this.board = HandEvaluator.toMask(board);
+        this.boardCount = board.size();
+        known = addKnown(known, this.board, board.size());
+        known = addKnown(known, HandEvaluator.toMask(dead), dead.size());
+        this.known = known;
+
+        remaining = new int[52 - Long.bitCount(known)];
+        int n = 0;
+        for(int code = 0; code < 52; code++){
+            if((known & (1L << code)) == 0){
+                remaining[n++] = code;
+            }
+        }
+    }
+
+    /**
+     * Number of board cards still to come
+     */
+    int missing(){
+        return 5 - boardCount;
+    }
+
+    private static long addKnown(long known, long cards, int expected){
+        if(Long.bitCount(cards) != expected || (known & cards) != 0){
+            throw new IllegalArgumentException("The same card appears more than once");
+        }
+        return known | cards;
+    }
+}
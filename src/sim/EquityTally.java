@@ -0,0 +1,69 @@
+package sim;
+
+/**
+ * Per-worker accumulator of showdown outcomes, merged once the worker finishes.
+ */
+final class EquityTally{
+    final long[] wins;
+    final long[] ties;
+    final double[] shares;
+    long boards;
+
+    EquityTally(int players){
+        wins = new long[players];
+        ties = new long[players];
+        shares = new double[players];
+    }
+
+    /**
+     * Records one board's showdown, counted weight times
+     */
+    void record(int[] strengths, int players, long weight){
+        int best = -1;
+        int winners = 0;
+        for(int i = 0; i < players; i++){
+            if(strengths[i] > best){
+                best = strengths[i];
+                winners = 1;
+            } else if(strengths[i] == best){
+                winners++;
+            }
+        }
+        double share = (double)weight / winners;
+        for(int i = 0; i < players; i++){
+            if(strengths[i] == best){
+                if(winners == 1){
+                    wins[i] += weight;
+                } else {
+                    ties[i] += weight;
+                }
+                shares[i] += share;
+            }
+        }
+        boards += weight;
+    }
+
+    EquityTally merge(EquityTally other){
+        for(int i = 0; i < wins.length; i++){
+            wins[i] += other.wins[i];
+            ties[i] += other.ties[i];
+            shares[i] += other.shares[i];
+        }
+        boards += other.boards;
+        return this;
+    }
+
+    EquityResult toResult(){
+        int players = wins.length;
+        double[] win = new double[players];
+        double[] tie = new double[players];
+        double[] equity = new double[players];
+        double total = Math.max(boards, 1);
+        for(int i = 0; i < players; i++){
+            win[i] = wins[i] / total;
+            tie[i] = ties[i] / total;
+            equity[i] = shares[i] / total;
+        }
+        return new EquityResult(win, tie, equity, boards);
+    }
+}
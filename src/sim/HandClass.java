@@ -0,0 +1,90 @@
+package sim;
+
+import cards.*;
+import game.HandEvaluator;
+
+/**
+ * The 169 preflop starting-hand classes (AA, AKs, AKo, ...).
+ *
+ * Classes are laid out on the usual 13x13 grid of rank ordinals:
+ *  -pairs on the diagonal          (index = r * 13 + r)
+ *  -suited hands above it          (index = high * 13 + low)
+ *  -offsuit hands below it         (index = low * 13 + high)
+ */
+public final class HandClass{
+    public static final int COUNT = 169;
+    private static final String RANK_CHARS = "23456789TJQKA";
+
+    private HandClass(){ }
+
+    /**
+     * Class index of two hole cards
+     */
+    public static int of(Card a, Card b){
+        return of(HandEvaluator.code(a), HandEvaluator.code(b));
+    }
+
+    /**
+     * Class index of two HandEvaluator card codes
+     */
+    public static int of(int codeA, int codeB){
+        int rankA = codeA % 13;
+        int rankB = codeB % 13;
+        int high = Math.max(rankA, rankB);
+        int low = Math.min(rankA, rankB);
+        boolean suited = codeA / 13 == codeB / 13;
+        return suited ? high * 13 + low : low * 13 + high;
+    }
+
+    public static int highRank(int index){
+        return Math.max(index / 13, index % 13);
+    }
+
+    public static int lowRank(int index){
+        return Math.min(index / 13, index % 13);
+    }
+
+    public static boolean isPair(int index){
+        return index / 13 == index % 13;
+    }
+
+    public static boolean isSuited(int index){
+        return index / 13 > index % 13;
+    }
+
+    /**
+     * Number of card combinations in the class: 6 for pairs, 4 suited, 12 offsuit
+     */
+    public static int comboCount(int index){
+        return isPair(index) ? 6 : isSuited(index) ? 4 : 12;
+    }
+
+    /**
+     * Fills codes with the class's combinations as pairs of card codes
+     * (codes[2k], codes[2k + 1]) and returns how many combinations were written
+     */
+    public static int combos(int index, int[] codes){
+        int high = highRank(index);
+        int low = lowRank(index);
+        int n = 0;
+        for(int s1 = 0; s1 < 4; s1++){
+            for(int s2 = 0; s2 < 4; s2++){
+                boolean keep = isPair(index) ? s1 < s2 : isSuited(index) ? s1 == s2 : s1 != s2;
+                if(keep){
+                    codes[n++] = s1 * 13 + high;
+                    codes[n++] = s2 * 13 + low;
+                }
+            }
+        }
+        return n / 2;
+    }
+
+    /**
+     * Display name such as "AA", "AKs" or "T9o"
+     */
+    public static String name(int index){
+        String ranks = "" + RANK_CHARS.charAt(highRank(index)) + RANK_CHARS.charAt(lowRank(index));
+        if(isPair(index)) return ranks;
+        return ranks + (isSuited(index) ? "s" : "o");
+    }
+}
@@ -0,0 +1,140 @@
+package sim;
+
+import cards.Deck;
+import game.GameEngine;
+import game.PlayerDecider;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import players.Player;
+
+/**
+ * Runs many independent headless tables at once in one JVM.
+ *
+ * Every table is its own GameEngine with its own Table, seeded Deck and deciders,
+ * so tables share no mutable state; each runs as one task. Tasks go to a
+ * virtual-thread-per-task executor when the runtime has one (Java 21+) and to a
+ * work-stealing pool sized to the cores otherwise. Totals are collected in LongAdders,
+ * so finishing tables never contend on a shared counter.
+ */
+public class MultiTableRunner{
+    private final int tables;
+    private final int playersPerTable;
+    private final int startingChips;
+    private final long seed;
+    private final IntFunction<PlayerDecider> deciders;
+
+    private final LongAdder handsPlayed = new LongAdder();
+    private final LongAdder chipsInPlay = new LongAdder();
+    private final LongAdder tablesFinished = new LongAdder();
+
+    /**
+     * @param deciders creates the decider for a table, given the table number
+     */
+    public MultiTableRunner(int tables, int playersPerTable, int startingChips, long seed,
+                            IntFunction<PlayerDecider> deciders){
+        if(tables < 1 || playersPerTable < 2 || playersPerTable > 8){
+            throw new IllegalArgumentException("Need at least one table of 2-8 players");
+        }
+        this.tables = tables;
+        this.playersPerTable = playersPerTable;
+        this.startingChips = startingChips;
+        this.seed = seed;
+        this.deciders = deciders;
+    }
+
+    /**
+     * Room of random bots (RandomDecider) seeded from the room seed
+     */
+    public MultiTableRunner(int tables, int playersPerTable, int startingChips, long seed){
+        this(tables, playersPerTable, startingChips, seed, t -> new RandomDecider(seed * 31 + t));
+    }
+
+    /**
+     * Plays up to handsPerTable hands on every table and waits for all of them.
+     * A table stops early once fewer than two of its players have chips.
+     * @return total hands played in this run
+     */
+    public long run(int handsPerTable) throws InterruptedException{
+        long before = handsPlayed.sum();
+        SplittableRandom seeds = new SplittableRandom(seed);
+        ExecutorService executor = newExecutor();
+        try{
+            List<Future<?>> futures = new ArrayList<>(tables);
+            for(int t = 0; t < tables; t++){
+                int table = t;
+                Deck deck = new Deck(seeds.split());
+                futures.add(executor.submit(() -> playTable(table, deck, handsPerTable)));
+            }
+            for(Future<?> f : futures){
+                f.get();
+            }
+        } catch(ExecutionException e){
+            throw new IllegalStateException("Table failed", e.getCause());
+        } finally{
+            executor.shutdownNow();
+        }
+        return handsPlayed.sum() - before;
+    }
+
+    private void playTable(int table, Deck deck, int hands){
+        GameEngine engine = new GameEngine(deck);
+        engine.setVerbose(false);
+        engine.setNumberOfPlayers(playersPerTable);
+        engine.setStartingChips(startingChips);
+        engine.setDecider(deciders.apply(table));
+
+        handsPlayed.add(engine.runHeadless(hands));
+        for(Player p : engine.getTable().getPlayers()){
+            chipsInPlay.add(p.getChips());
+        }
+        tablesFinished.increment();
+    }
+
+    /**
+     * One virtual thread per table where available (looked up reflectively so this
+     * still runs on Java 17), otherwise a work-stealing pool over all cores
+     */
+    private static ExecutorService newExecutor(){
+        try{
+            Method m = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) m.invoke(null);
+        } catch(ReflectiveOperationException e){
+            return Executors.newWorkStealingPool();
+        }
+    }
+
+    public long getHandsPlayed(){
+        return handsPlayed.sum();
+    }
+
+    /**
+     * Chips held by all players at the end of their tables (equals tables x seats x
+     * starting chips when nothing leaks)
+     */
+    public long getChipsInPlay(){
+        return chipsInPlay.sum();
+    }
+
+    public long getTablesFinished(){
+        return tablesFinished.sum();
+    }
+
+    public static void main(String[] args) throws InterruptedException{
+        int tables = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int hands = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        MultiTableRunner runner = new MultiTableRunner(tables, 6, 1000, 42L);
+        long start = System.nanoTime();
+        long played = runner.run(hands);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d tables, %d hands in %.2fs (%.0f hands/s), chips in play %d%n",
+                runner.getTablesFinished(), played, seconds, played / seconds, runner.getChipsInPlay());
+    }
+}
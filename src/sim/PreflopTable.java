@@ -0,0 +1,225 @@
+package sim;
+
+import cards.*;
+import game.CheckHand;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Precomputed preflop equities for the 169 starting-hand classes, stored in resources/preflop.dat.
+ *
+ * Two tables are kept, each entry an unsigned 16-bit fraction of the pot (0..65535):
+ *  -heads-up: equity of class A against class B (169 x 169)
+ *  -multiway: equity of a class against 1..8 random hands (169 x 8)
+ *
+ * Lookups are plain array reads keyed from the two cards in Player.getHand().
+ * Generate the file with:  java -cp class sim.PreflopTable [samplesPerEntry] [path]
+ */
+public final class PreflopTable{
+    public static final String DEFAULT_PATH = "resources/preflop.dat";
+    public static final int MAX_OPPONENTS = 8;
+
+    private static final int MAGIC = 0x50524546; // "PREF"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final double SCALE = 65535.0;
+
+    private final char[] headsUp;    // [classA * 169 + classB]
+    private final char[] multiway;   // [class * 8 + opponents - 1]
+
+    private PreflopTable(char[] headsUp, char[] multiway){
+        this.headsUp = headsUp;
+        this.multiway = multiway;
+    }
+
+    /**
+     * Equity of hand against villain, both given as two hole cards
+     */
+    public double headsUp(List<Card> hand, List<Card> villain){
+        return headsUp(HandClass.of(hand.get(0), hand.get(1)), HandClass.of(villain.get(0), villain.get(1)));
+    }
+
+    public double headsUp(int handClass, int villainClass){
+        return headsUp[handClass * HandClass.COUNT + villainClass] / SCALE;
+    }
+
+    /**
+     * Equity of a hand (e.g. Player.getHand()) against a number of random hands
+     * @param opponents 1..MAX_OPPONENTS
+     */
+    public double versusRandom(List<Card> hand, int opponents){
+        return versusRandom(HandClass.of(hand.get(0), hand.get(1)), opponents);
+    }
+
+    public double versusRandom(int handClass, int opponents){
+        if(opponents < 1 || opponents > MAX_OPPONENTS){
+            throw new IllegalArgumentException("Opponents must be 1-" + MAX_OPPONENTS);
+        }
+        return multiway[handClass * MAX_OPPONENTS + opponents - 1] / SCALE;
+    }
+
+    /**
+     * Loads the table from resources/preflop.dat, or returns null if it has not been generated
+     */
+    public static PreflopTable loadDefault(){
+        try{
+            return load(Paths.get(DEFAULT_PATH));
+        } catch(IOException e){
+            return null;
+        }
+    }
+
+    public static PreflopTable load(Path file) throws IOException{
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        int entries = HandClass.COUNT * HandClass.COUNT + HandClass.COUNT * MAX_OPPONENTS;
+        if(buf.remaining() != HEADER_BYTES + 2 * entries
+                || buf.getInt() != MAGIC || buf.getInt() != VERSION
+                || buf.getInt() != HandClass.COUNT || buf.getInt() != MAX_OPPONENTS){
+            throw new IOException("Not a preflop table: " + file);
+        }
+        char[] headsUp = new char[HandClass.COUNT * HandClass.COUNT];
+        char[] multiway = new char[HandClass.COUNT * MAX_OPPONENTS];
+        buf.asCharBuffer().get(headsUp).get(multiway);
+        return new PreflopTable(headsUp, multiway);
+    }
+
+    /**
+     * Computes both tables by Monte Carlo (rows in parallel) and writes the file
+     * @param samples showdowns sampled per table entry
+     */
+    public static void generate(Path file, int samples, long seed) throws IOException{
+        char[] headsUp = new char[HandClass.COUNT * HandClass.COUNT];
+        char[] multiway = new char[HandClass.COUNT * MAX_OPPONENTS];
+
+        IntStream.range(0, HandClass.COUNT).parallel().forEach(a -> {
+            Sampler sampler = new Sampler(new SplittableRandom(seed + a));
+            for(int b = a; b < HandClass.COUNT; b++){
+                double equity = sampler.headsUp(a, b, samples);
+                headsUp[a * HandClass.COUNT + b] = toFraction(equity);
+                headsUp[b * HandClass.COUNT + a] = toFraction(1.0 - equity);
+            }
+            for(int opponents = 1; opponents <= MAX_OPPONENTS; opponents++){
+                multiway[a * MAX_OPPONENTS + opponents - 1] =
+                        toFraction(sampler.versusRandom(a, opponents, samples));
+            }
+        });
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + 2 * (headsUp.length + multiway.length))
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(HandClass.COUNT).putInt(MAX_OPPONENTS);
+        buf.asCharBuffer().put(headsUp).put(multiway);
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null){
+            Files.createDirectories(parent);
+        }
+        Files.write(file, buf.array());
+    }
+
+    private static char toFraction(double equity){
+        return (char)Math.round(Math.max(0.0, Math.min(1.0, equity)) * SCALE);
+    }
+
+    /**
+     * Per-row sampling state: RNG plus reusable scratch arrays
+     */
+    private static final class Sampler{
+        private final SplittableRandom rng;
+        private final int[] combosA = new int[24];
+        private final int[] combosB = new int[24];
+        private final long[] holes = new long[MAX_OPPONENTS + 1];
+        private final int[] strengths = new int[MAX_OPPONENTS + 1];
+
+        Sampler(SplittableRandom rng){
+            this.rng = rng;
+        }
+
+        /**
+         * Equity of class a against class b, averaged over random non-overlapping combos
+         */
+        double headsUp(int a, int b, int samples){
+            int countA = HandClass.combos(a, combosA);
+            int countB = HandClass.combos(b, combosB);
+            double share = 0;
+            int played = 0;
+            for(int s = 0; s < samples; s++){
+                int i = rng.nextInt(countA);
+                int j = rng.nextInt(countB);
+                holes[0] = (1L << combosA[2 * i]) | (1L << combosA[2 * i + 1]);
+                holes[1] = (1L << combosB[2 * j]) | (1L << combosB[2 * j + 1]);
+                if((holes[0] & holes[1]) != 0){
+                    continue; // card collision (e.g. AA vs AA) - draw again
+                }
+                share += showdown(2, holes[0] | holes[1]);
+                played++;
+            }
+            return played == 0 ? 0.5 : share / played;
+        }
+
+        /**
+         * Equity of class a against the given number of random hands
+         */
+        double versusRandom(int a, int opponents, int samples){
+            int countA = HandClass.combos(a, combosA);
+            double share = 0;
+            for(int s = 0; s < samples; s++){
+                int i = rng.nextInt(countA);
+                holes[0] = (1L << combosA[2 * i]) | (1L << combosA[2 * i + 1]);
+                long used = holes[0];
+                for(int p = 1; p <= opponents; p++){
+                    long hole = drawCard(used);
+                    hole |= drawCard(used | hole);
+                    holes[p] = hole;
+                    used |= hole;
+                }
+                share += showdown(opponents + 1, used);
+            }
+            return share / samples;
+        }
+
+        /**
+         * Deals a random board around the used cards and returns player 0's share of the pot
+         */
+        private double showdown(int players, long used){
+            long board = 0L;
+            for(int k = 0; k < 5; k++){
+                board |= drawCard(used | board);
+            }
+            CheckHand.strengthsOf(board, holes, players, strengths);
+            int best = strengths[0];
+            int winners = 1;
+            for(int p = 1; p < players; p++){
+                if(strengths[p] > best){
+                    return 0.0;
+                } else if(strengths[p] == best){
+                    winners++;
+                }
+            }
+            return 1.0 / winners;
+        }
+
+        private long drawCard(long used){
+            while(true){
+                long card = 1L << rng.nextInt(52);
+                if((used & card) == 0){
+                    return card;
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException{
+        int samples = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        Path file = Paths.get(args.length > 1 ? args[1] : DEFAULT_PATH);
+        long start = System.currentTimeMillis();
+        generate(file, samples, 169L);
+        System.out.println("Wrote preflop table to " + file.toAbsolutePath()
+                + " in " + (System.currentTimeMillis() - start) / 1000 + "s");
+    }
+}
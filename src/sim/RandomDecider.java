@@ -0,0 +1,44 @@
+package sim;
+
+import game.Decision;
+import game.LegalActions;
+import game.PlayerDecider;
+import game.Table;
+import java.util.SplittableRandom;
+import players.Player;
+
+/**
+ * Simple bot that picks a legal action at random: mostly check/call,
+ * sometimes fold or raise, rarely all-in. Meant for simulations and
+ * filling empty seats, not for strong play.
+ *
+ * Not thread-safe; give every table its own instance.
+ */
+public class RandomDecider implements PlayerDecider{
+    private final SplittableRandom rng;
+
+    public RandomDecider(long seed){
+        this(new SplittableRandom(seed));
+    }
+
+    public RandomDecider(SplittableRandom rng){
+        this.rng = rng;
+    }
+
+    @Override
+    public Decision decide(Player player, Table table, LegalActions legal){
+        int roll = rng.nextInt(100);
+        if(roll < 10 && !legal.canCheck()){
+            return Decision.FOLD;
+        }
+        if(roll < 20 && legal.canRaise()){
+            // min raise up to roughly a pot-sized raise
+            int pot = Math.max(legal.getMinRaise(), table.getPot());
+            return Decision.raise(legal.getMinRaise() + rng.nextInt(pot - legal.getMinRaise() + 1));
+        }
+        if(roll == 20){
+            return Decision.ALL_IN;
+        }
+        return legal.canCheck() ? Decision.CHECK : Decision.CALL;
+    }
+}
@@ -0,0 +1,234 @@
+package sim;
+
+import cards.*;
+import game.HandEvaluator;
+
+/**
+ * Weighted set of the 1326 two-card hole combinations.
+ *
+ * Combos are indexed by their two HandEvaluator card codes a < b as  b * (b - 1) / 2 + a.
+ * Weights (0..1, the fraction of the combo played) live in a primitive double[1326], with a
+ * long bitset of non-zero entries alongside so iteration skips empty combos.
+ *
+ * Ranges are usually built with parse(), which accepts standard notation:
+ *  "AA", "AKs", "AKo", "AK", "TT+", "A2s+", "KTo+", "A5s-A2s", "55-22", "AsKh", "AKs:0.5"
+ */
+public class Range{
+    public static final int COMBOS = 1326;
+    private static final String RANK_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "cshd"; // SUIT ordinal order
+
+    private static final int[] FIRST = new int[COMBOS];
+    private static final int[] SECOND = new int[COMBOS];
+
+    static{
+        for(int b = 1; b < 52; b++){
+            for(int a = 0; a < b; a++){
+                int combo = index(a, b);
+                FIRST[combo] = a;
+                SECOND[combo] = b;
+            }
+        }
+    }
+
+    private final double[] weights = new double[COMBOS];
+    private final long[] bits = new long[(COMBOS + 63) / 64];
+
+    public Range(){ }
+
+    /**
+     * Combo index of two card codes (in either order)
+     */
+    public static int index(int codeA, int codeB){
+        int a = Math.min(codeA, codeB);
+        int b = Math.max(codeA, codeB);
+        return b * (b - 1) / 2 + a;
+    }
+
+    public static int index(Card a, Card b){
+        return index(HandEvaluator.code(a), HandEvaluator.code(b));
+    }
+
+    /** Lower card code of a combo */
+    public static int firstCard(int combo){ return FIRST[combo]; }
+
+    /** Higher card code of a combo */
+    public static int secondCard(int combo){ return SECOND[combo]; }
+
+    /** HandEvaluator mask of a combo's two cards */
+    public static long mask(int combo){
+        return (1L << FIRST[combo]) | (1L << SECOND[combo]);
+    }
+
+    public double weight(int combo){
+        return weights[combo];
+    }
+
+    public boolean contains(int combo){
+        return (bits[combo >>> 6] & (1L << combo)) != 0;
+    }
+
+    public void set(int combo, double weight){
+        weights[combo] = weight;
+        if(weight > 0){
+            bits[combo >>> 6] |= 1L << combo;
+        } else {
+            bits[combo >>> 6] &= ~(1L << combo);
+        }
+    }
+
+    /**
+     * Next combo in the range at or after from, or -1 when there are no more
+     */
+    public int next(int from){
+        int word = from >>> 6;
+        if(word >= bits.length) return -1;
+        long w = bits[word] & (-1L << from);
+        while(true){
+            if(w != 0){
+                return word * 64 + Long.numberOfTrailingZeros(w);
+            }
+            if(++word == bits.length){
+                return -1;
+            }
+            w = bits[word];
+        }
+    }
+
+    /**
+     * Number of combos with non-zero weight
+     */
+    public int size(){
+        int n = 0;
+        for(long w : bits){
+            n += Long.bitCount(w);
+        }
+        return n;
+    }
+
+    /**
+     * Sets every combo of a starting-hand class to the given weight
+     */
+    public void addClass(int handClass, double weight){
+        int[] codes = new int[24];
+        int count = HandClass.combos(handClass, codes);
+        for(int i = 0; i < count; i++){
+            set(index(codes[2 * i], codes[2 * i + 1]), weight);
+        }
+    }
+
+    /**
+     * Parses comma-separated range notation, e.g. "AKs, TT+, A5s-A2s, QJo:0.5"
+     * @throws IllegalArgumentException on malformed input
+     */
+    public static Range parse(String text){
+        Range range = new Range();
+        for(String raw : text.split(",")){
+            String token = raw.trim();
+            if(token.isEmpty()) continue;
+
+            double weight = 1.0;
+            int colon = token.indexOf(':');
+            if(colon >= 0){
+                try{
+                    weight = Double.parseDouble(token.substring(colon + 1).trim());
+                } catch(NumberFormatException e){
+                    throw new IllegalArgumentException("Invalid weight in \"" + token + "\"");
+                }
+                token = token.substring(0, colon).trim();
+            }
+            range.addToken(token, weight);
+        }
+        return range;
+    }
+
+    private void addToken(String token, double weight){
+        // explicit combo such as "AsKh"
+        if(token.length() == 4 && SUIT_CHARS.indexOf(token.charAt(1)) >= 0){
+            int a = card(token.charAt(0), token.charAt(1), token);
+            int b = card(token.charAt(2), token.charAt(3), token);
+            if(a == b) throw new IllegalArgumentException("Invalid combo \"" + token + "\"");
+            set(index(a, b), weight);
+            return;
+        }
+
+        int dash = token.indexOf('-');
+        if(dash >= 0){
+            addSpan(token.substring(0, dash), token.substring(dash + 1), weight, token);
+            return;
+        }
+
+        boolean plus = token.endsWith("+");
+        String hand = plus ? token.substring(0, token.length() - 1) : token;
+        int high = rank(hand, 0, token);
+        int low = rank(hand, 1, token);
+        char kind = hand.length() > 2 ? Character.toLowerCase(hand.charAt(2)) : ' ';
+        if(hand.length() > 3 || (kind != ' ' && kind != 's' && kind != 'o')){
+            throw new IllegalArgumentException("Invalid hand \"" + token + "\"");
+        }
+        if(high == low){
+            if(kind != ' ') throw new IllegalArgumentException("Pairs cannot be suited: \"" + token + "\"");
+            for(int r = low; r <= (plus ? 12 : low); r++){
+                addClass(r * 13 + r, weight);
+            }
+            return;
+        }
+        if(low > high){
+            int t = low;
+            low = high;
+            high = t;
+        }
+        // "A2s+" raises the kicker up to one below the top card
+        for(int r = low; r <= (plus ? high - 1 : low); r++){
+            addUnpaired(high, r, kind, weight);
+        }
+    }
+
+    /**
+     * Spans such as "A5s-A2s" (same top card) or "55-22" (pairs)
+     */
+    private void addSpan(String from, String to, double weight, String token){
+        int fromHigh = rank(from, 0, token);
+        int fromLow = rank(from, 1, token);
+        int toHigh = rank(to, 0, token);
+        int toLow = rank(to, 1, token);
+        char kind = from.length() > 2 ? Character.toLowerCase(from.charAt(2)) : ' ';
+        char toKind = to.length() > 2 ? Character.toLowerCase(to.charAt(2)) : ' ';
+        if(kind != toKind){
+            throw new IllegalArgumentException("Mismatched span \"" + token + "\"");
+        }
+        if(fromHigh == fromLow && toHigh == toLow){
+            for(int r = Math.min(fromLow, toLow); r <= Math.max(fromLow, toLow); r++){
+                addClass(r * 13 + r, weight);
+            }
+        } else if(fromHigh == toHigh && fromHigh != fromLow && toHigh != toLow){
+            for(int r = Math.min(fromLow, toLow); r <= Math.max(fromLow, toLow); r++){
+                addUnpaired(fromHigh, r, kind, weight);
+            }
+        } else {
+            throw new IllegalArgumentException("Invalid span \"" + token + "\"");
+        }
+    }
+
+    private void addUnpaired(int high, int low, char kind, double weight){
+        if(kind != 'o') addClass(high * 13 + low, weight);   // suited
+        if(kind != 's') addClass(low * 13 + high, weight);   // offsuit
+    }
+
+    private static int rank(String hand, int pos, String token){
+        int r = hand.length() > pos ? RANK_CHARS.indexOf(Character.toUpperCase(hand.charAt(pos))) : -1;
+        if(r < 0){
+            throw new IllegalArgumentException("Invalid rank in \"" + token + "\"");
+        }
+        return r;
+    }
+
+    private static int card(char rank, char suit, String token){
+        int r = RANK_CHARS.indexOf(Character.toUpperCase(rank));
+        int s = SUIT_CHARS.indexOf(Character.toLowerCase(suit));
+        if(r < 0 || s < 0){
+            throw new IllegalArgumentException("Invalid card in \"" + token + "\"");
+        }
+        return s * 13 + r;
+    }
+}
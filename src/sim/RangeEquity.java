@@ -0,0 +1,253 @@
+package sim;
+
+import cards.*;
+import game.CheckHand;
+import game.HandEvaluator;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Range-vs-range and hand-vs-range equity on a given board.
+ *
+ * From the flop on, every remaining runout is enumerated; with fewer than three board
+ * cards a fixed number of runouts is sampled. For each runout every live combo of both
+ * ranges is evaluated exactly once, both sides are sorted by strength, and one sweep
+ * finds each hero combo's win and tie weight. Card removal is handled in that sweep with
+ * per-card weight totals: villain combos sharing a card with the hero combo are subtracted
+ * (adding back the identical combo, which both card totals remove).
+ *
+ * Results use player 0 = hero, player 1 = villain.
+ */
+public class RangeEquity{
+    public static final int DEFAULT_SAMPLED_RUNOUTS = 20000;
+
+    private final ForkJoinPool pool;
+    private final int sampledRunouts;
+    private final long seed;
+
+    public RangeEquity(){
+        this(ForkJoinPool.commonPool(), DEFAULT_SAMPLED_RUNOUTS, 8);
+    }
+
+    /**
+     * @param sampledRunouts runouts drawn when the board has fewer than three cards
+     * @param seed seed for those sampled runouts
+     */
+    public RangeEquity(ForkJoinPool pool, int sampledRunouts, long seed){
+        this.pool = pool;
+        this.sampledRunouts = sampledRunouts;
+        this.seed = seed;
+    }
+
+    /**
+     * Equity of two known hole cards against a range
+     */
+    public EquityResult handVsRange(List<Card> hand, Range villain, List<Card> board){
+        Range hero = new Range();
+        hero.set(Range.index(hand.get(0), hand.get(1)), 1.0);
+        return rangeVsRange(hero, villain, board);
+    }
+
+    /**
+     * Equity of one weighted range against another
+     */
+    public EquityResult rangeVsRange(Range hero, Range villain, List<Card> board){
+        if(board.size() > 5){
+            throw new IllegalArgumentException("Board can hold at most 5 cards");
+        }
+        long boardMask = HandEvaluator.toMask(board);
+        if(Long.bitCount(boardMask) != board.size()){
+            throw new IllegalArgumentException("The same card appears more than once");
+        }
+        long[] runouts = runouts(boardMask, 5 - board.size());
+        double[] sums = pool.invoke(new RunoutTask(hero, villain, runouts, 0, runouts.length));
+        double win = sums[0];
+        double tie = sums[1];
+        double total = sums[2];
+        if(total == 0){
+            throw new IllegalArgumentException("No combination of the two ranges fits this board");
+        }
+        double heroWin = win / total;
+        double heroTie = tie / total;
+        double heroEquity = heroWin + heroTie / 2;
+        return new EquityResult(new double[]{heroWin, 1.0 - heroWin - heroTie},
+                                new double[]{heroTie, heroTie},
+                                new double[]{heroEquity, 1.0 - heroEquity},
+                                runouts.length);
+    }
+
+    /**
+     * Full boards to evaluate: every completion from the flop on, sampled completions before it
+     */
+    private long[] runouts(long board, int missing){
+        int[] deck = new int[52 - Long.bitCount(board)];
+        int n = 0;
+        for(int code = 0; code < 52; code++){
+            if((board & (1L << code)) == 0) deck[n++] = code;
+        }
+        if(missing == 0){
+            return new long[]{board};
+        }
+        if(missing == 1){
+            long[] out = new long[n];
+            for(int i = 0; i < n; i++) out[i] = board | (1L << deck[i]);
+            return out;
+        }
+        if(missing == 2){
+            long[] out = new long[n * (n - 1) / 2];
+            int k = 0;
+            for(int i = 0; i < n; i++){
+                for(int j = i + 1; j < n; j++){
+                    out[k++] = board | (1L << deck[i]) | (1L << deck[j]);
+                }
+            }
+            return out;
+        }
+        SplittableRandom rng = new SplittableRandom(seed);
+        long[] out = new long[sampledRunouts];
+        for(int s = 0; s < out.length; s++){
+            long full = board;
+            for(int j = 0; j < missing; j++){
+                int k = j + rng.nextInt(n - j);
+                int code = deck[k];
+                deck[k] = deck[j];
+                deck[j] = code;
+                full |= 1L << code;
+            }
+            out[s] = full;
+        }
+        return out;
+    }
+
+    /**
+     * Sums {win weight, tie weight, total weight} over runouts [from, to)
+     */
+    private static final class RunoutTask extends RecursiveTask<double[]>{
+        private static final int LEAF_RUNOUTS = 64;
+
+        private final Range hero;
+        private final Range villain;
+        private final long[] runouts;
+        private final int from;
+        private final int to;
+
+        RunoutTask(Range hero, Range villain, long[] runouts, int from, int to){
+            this.hero = hero;
+            this.villain = villain;
+            this.runouts = runouts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute(){
+            if(to - from > LEAF_RUNOUTS){
+                int mid = (from + to) >>> 1;
+                RunoutTask left = new RunoutTask(hero, villain, runouts, from, mid);
+                left.fork();
+                double[] sums = new RunoutTask(hero, villain, runouts, mid, to).compute();
+                double[] other = left.join();
+                for(int i = 0; i < sums.length; i++) sums[i] += other[i];
+                return sums;
+            }
+            Side heroSide = new Side();
+            Side villainSide = new Side();
+            double[] belowCard = new double[52];
+            double[] upToCard = new double[52];
+            double[] sums = new double[3];
+            for(int r = from; r < to; r++){
+                heroSide.load(hero, runouts[r]);
+                villainSide.load(villain, runouts[r]);
+                sweep(heroSide, villainSide, belowCard, upToCard, sums);
+            }
+            return sums;
+        }
+
+        /**
+         * Walks hero combos in strength order, keeping running villain totals of
+         * strictly weaker and weaker-or-equal combos overall and per card
+         * (belowCard and upToCard are scratch, cleared here)
+         */
+        private void sweep(Side h, Side v, double[] belowCard, double[] upToCard, double[] sums){
+            Arrays.fill(belowCard, 0);
+            Arrays.fill(upToCard, 0);
+            double below = 0;
+            double upTo = 0;
+            int lo = 0;   // villain entries [0, lo) are strictly weaker
+            int hi = 0;   // villain entries [0, hi) are weaker or equal
+
+            for(int i = 0; i < h.count; i++){
+                int combo = h.combo(i);
+                int strength = h.strength(i);
+                while(lo < v.count && v.strength(lo) < strength){
+                    int c = v.combo(lo++);
+                    double w = villain.weight(c);
+                    below += w;
+                    belowCard[Range.firstCard(c)] += w;
+                    belowCard[Range.secondCard(c)] += w;
+                }
+                while(hi < v.count && v.strength(hi) <= strength){
+                    int c = v.combo(hi++);
+                    double w = villain.weight(c);
+                    upTo += w;
+                    upToCard[Range.firstCard(c)] += w;
+                    upToCard[Range.secondCard(c)] += w;
+                }
+                int a = Range.firstCard(combo);
+                int b = Range.secondCard(combo);
+                // the identical combo always has the same strength, so it only sits in the upTo group
+                double same = villain.contains(combo) ? villain.weight(combo) : 0;
+                double win = below - belowCard[a] - belowCard[b];
+                double tie = upTo - upToCard[a] - upToCard[b] + same - win;
+                double total = v.total - v.cardTotal[a] - v.cardTotal[b] + same;
+
+                double hw = hero.weight(combo);
+                sums[0] += hw * win;
+                sums[1] += hw * tie;
+                sums[2] += hw * total;
+            }
+        }
+    }
+
+    /**
+     * One range's live combos on a runout, evaluated once and sorted by strength
+     */
+    private static final class Side{
+        // strength << 11 | combo, so sorting orders by strength
+        final long[] entries = new long[Range.COMBOS];
+        final long[] holes = new long[Range.COMBOS];
+        final int[] strengths = new int[Range.COMBOS];
+        final int[] combos = new int[Range.COMBOS];
+        final double[] cardTotal = new double[52];
+        double total;
+        int count;
+
+        void load(Range range, long board){
+            count = 0;
+            total = 0;
+            Arrays.fill(cardTotal, 0);
+            for(int c = range.next(0); c >= 0; c = range.next(c + 1)){
+                long hole = Range.mask(c);
+                if((hole & board) != 0) continue; // blocked by the board
+                holes[count] = hole;
+                combos[count++] = c;
+                double w = range.weight(c);
+                total += w;
+                cardTotal[Range.firstCard(c)] += w;
+                cardTotal[Range.secondCard(c)] += w;
+            }
+            CheckHand.strengthsOf(board, holes, count, strengths);
+            for(int i = 0; i < count; i++){
+                entries[i] = ((long)strengths[i] << 11) | combos[i];
+            }
+            Arrays.sort(entries, 0, count);
+        }
+
+        int combo(int i){ return (int)(entries[i] & 0x7FF); }
+
+        int strength(int i){ return (int)(entries[i] >>> 11); }
+    }
+}